@@ -1,5 +1,7 @@
 package com.example.auth.config;
 
+import com.example.auth.security.ServiceTokenFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,7 +14,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class OAuth2SecurityConfig {
 
     @Bean
-    public SecurityFilterChain oauth2SecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain oauth2SecurityFilterChain(HttpSecurity http,
+                                                         @Value("${app.profiles.service-token:}") String serviceToken) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -20,6 +23,7 @@ public class OAuth2SecurityConfig {
                 .requestMatchers("/oauth2/**").permitAll()
                 .requestMatchers("/api/auth/oauth2/**").permitAll()
                 .requestMatchers("/login/oauth2/**").permitAll()
+                .requestMatchers("/api/user/profiles/batch").hasRole(ServiceTokenFilter.ROLE)
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
@@ -31,7 +35,8 @@ public class OAuth2SecurityConfig {
                 .redirectionEndpoint(redirection -> redirection
                     .baseUri("/login/oauth2/code/*")
                 )
-            );
+            )
+            .addFilterBefore(new ServiceTokenFilter(serviceToken), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -2,7 +2,9 @@ package com.example.auth.config;
 
 import com.example.auth.security.JwtAuthFilter;
 import com.example.auth.security.JwtUtil;
+import com.example.auth.security.ServiceTokenFilter;
 import com.example.auth.service.AppUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.*;
@@ -34,14 +36,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${app.profiles.service-token:}") String serviceToken) throws Exception {
         JwtAuthFilter jwtFilter = new JwtAuthFilter(jwtUtil, userDetailsService);
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                // profiles by id, only for other services, so users cannot be enumerated
+                .requestMatchers("/api/user/profiles/batch").hasRole(ServiceTokenFilter.ROLE)
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new ServiceTokenFilter(serviceToken), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
@@ -1,11 +1,18 @@
 package com.example.auth.controller;
 
+import com.example.auth.dto.ProfileBatchRequest;
+import com.example.auth.dto.UserProfileDto;
 import com.example.auth.model.User;
 import com.example.auth.repository.UserRepository;
+import com.example.common.web.APIResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -13,6 +20,9 @@ import java.util.Optional;
 public class UserController {
     private final UserRepository repo;
 
+    @Value("${app.profiles.batch-max-size:500}")
+    private int batchMaxSize;
+
     public UserController(UserRepository repo) { this.repo = repo; }
 
     @GetMapping("/me")
@@ -29,4 +39,17 @@ public class UserController {
         u.setSkills(update.getSkills());
         return repo.save(u);
     }
+
+    // Profiles of many users at once, for services rendering content by several authors.
+    // Unknown ids are left out of the result.
+    @PostMapping("/profiles/batch")
+    public APIResponse<List<UserProfileDto>> profiles(@RequestBody ProfileBatchRequest req) {
+        if (req.getIds() == null || req.getIds().isEmpty()) {
+            return APIResponse.ok(List.of());
+        }
+        if (req.getIds().size() > batchMaxSize) {
+            return APIResponse.error(HttpStatus.BAD_REQUEST.value(), "At most " + batchMaxSize + " ids per request");
+        }
+        return APIResponse.ok(repo.findProfilesByIdIn(new LinkedHashSet<>(req.getIds())));
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.auth.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ProfileBatchRequest {
+    private List<Long> ids;
+}
@@ -0,0 +1,15 @@
+package com.example.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Public part of a user, as shown next to their posts
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileDto {
+    private Long id;
+    private String username;
+    private String avatarUrl;
+}
@@ -1,8 +1,13 @@
 package com.example.auth.repository;
 
+import com.example.auth.dto.UserProfileDto;
 import com.example.auth.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // one IN query selecting only the profile columns, so the eager skills collection is never loaded
+    @Query("select new com.example.auth.dto.UserProfileDto(u.id, u.username, u.avatarUrl) from User u where u.id in :ids")
+    List<UserProfileDto> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
 }
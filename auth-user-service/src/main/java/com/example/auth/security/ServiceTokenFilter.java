@@ -0,0 +1,45 @@
+package com.example.auth.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates calls of other services that send the shared service token, with ROLE_SERVICE.
+ * Nothing is authenticated while no token is configured.
+ */
+public class ServiceTokenFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Service-Token";
+    public static final String ROLE = "SERVICE";
+
+    private final byte[] token;
+
+    public ServiceTokenFilter(String token) {
+        this.token = token != null ? token.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        // constant time comparison, so the token cannot be guessed byte by byte from response times
+        if (header != null && token.length > 0
+                && MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "service", null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.post.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH arguments (for example a benchmark name
+ * regex or -p posts=10000) and always adds the GC profiler, so every result reports allocation
+ * (gc.alloc.rate.norm) next to ops/s.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+            .parent(cli)
+            .addProfiler(GCProfiler.class)
+            .build())
+            .run();
+    }
+}
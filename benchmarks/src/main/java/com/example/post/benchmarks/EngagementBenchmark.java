@@ -0,0 +1,73 @@
+package com.example.post.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.EngagementOpDto;
+import com.example.post.dto.EngagementResultDto;
+import com.example.post.model.Post;
+import com.example.post.service.impl.PostServiceImpl;
+
+/**
+ * Like and unlike handling: PostServiceImpl.applyEngagement on a full batch of ops against the
+ * (postId, userId) like set, and the liked-flag lookup of a feed page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngagementBenchmark {
+    @Param({"false", "true"})
+    public boolean bufferEnabled;
+
+    private PostServiceImpl postService;
+    private BatchEngagementRequestDto batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandIns.Posts store = new StandIns.Posts();
+        List<Post> synthetic = Fixtures.posts(10_000, 7);
+        synthetic.forEach(store::add);
+        postService = Fixtures.postService(store, new StandIns.Likes(), List.of(), bufferEnabled);
+
+        // a full batch, mostly likes and unlikes of the same users so the like set stays about the same size
+        Random random = new Random(7);
+        List<EngagementOpDto> ops = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int roll = random.nextInt(10);
+            EngagementOpDto.Type type = roll < 5 ? EngagementOpDto.Type.LIKE
+                : roll < 9 ? EngagementOpDto.Type.UNLIKE
+                : EngagementOpDto.Type.SHARE;
+            ops.add(EngagementOpDto.builder()
+                .type(type)
+                .postId(synthetic.get(random.nextInt(synthetic.size())).getId())
+                .userId("u-" + random.nextInt(1000))
+                .sharedTo(type == EngagementOpDto.Type.SHARE ? "feed" : null)
+                .build());
+        }
+        batch = BatchEngagementRequestDto.builder().ops(ops).build();
+    }
+
+    @Benchmark
+    public List<EngagementResultDto> applyBatch() {
+        return postService.applyEngagement(batch);
+    }
+}
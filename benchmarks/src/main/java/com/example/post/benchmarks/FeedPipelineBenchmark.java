@@ -0,0 +1,84 @@
+package com.example.post.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.FeedRequestDto;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.model.Post;
+import com.example.post.service.impl.PostServiceImpl;
+
+/**
+ * PostServiceImpl.getPersonalizedFeed over a timeline of 10k to 1M synthetic posts: ranking by
+ * hot score, keyset or offset pagination, hydration through the post cache, liked flags and
+ * response conversion. Ranking runs in the in-memory stand-in of the Mongo index scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedPipelineBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int posts;
+
+    private PostServiceImpl postService;
+    private FeedRequestDto firstPage;
+    private FeedRequestDto cursorPage;
+    private FeedRequestDto offsetPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandIns.Posts store = new StandIns.Posts();
+        StandIns.Likes likes = new StandIns.Likes();
+        List<Post> synthetic = Fixtures.posts(posts, 42);
+        synthetic.forEach(store::add);
+        for (int i = 0; i < synthetic.size(); i += 7) {
+            likes.like(synthetic.get(i).getId(), "reader");
+        }
+        List<String> timeline = synthetic.stream().map(Post::getId).collect(Collectors.toList());
+        postService = Fixtures.postService(store, likes, timeline, false);
+
+        firstPage = FeedRequestDto.builder().userId("reader").pageSize(PAGE_SIZE).build();
+        offsetPage = FeedRequestDto.builder().userId("reader").page(10).pageSize(PAGE_SIZE).build();
+        // the cursor after ten pages, reached the way a scrolling client does
+        FeedRequestDto scroll = FeedRequestDto.builder().userId("reader").pageSize(PAGE_SIZE).build();
+        for (int i = 0; i < 10; i++) {
+            scroll.setCursor(postService.getPersonalizedFeed(scroll).getNextCursor());
+        }
+        cursorPage = scroll;
+    }
+
+    @Benchmark
+    public CursorPageDto<PostResponseDto> firstPage() {
+        return postService.getPersonalizedFeed(firstPage);
+    }
+
+    @Benchmark
+    public CursorPageDto<PostResponseDto> cursorPage() {
+        return postService.getPersonalizedFeed(cursorPage);
+    }
+
+    @Benchmark
+    public CursorPageDto<PostResponseDto> offsetPage() {
+        return postService.getPersonalizedFeed(offsetPage);
+    }
+}
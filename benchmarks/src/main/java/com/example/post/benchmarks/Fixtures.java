@@ -0,0 +1,119 @@
+package com.example.post.benchmarks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.post.cache.PostCache;
+import com.example.post.cache.SingleFlight;
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.counter.EngagementCounters;
+import com.example.post.counter.ShardedCounters;
+import com.example.post.idempotency.IdempotencyStore;
+import com.example.post.metrics.PostMetrics;
+import com.example.post.model.Comment;
+import com.example.post.model.Post;
+import com.example.post.profile.ProfileCache;
+import com.example.post.profile.ProfileClient;
+import com.example.post.ranking.HotScore;
+import com.example.post.repository.CommentRepository;
+import com.example.post.repository.PostCounterShardRepository;
+import com.example.post.repository.PostEventRepository;
+import com.example.post.repository.PostLikeRepository;
+import com.example.post.repository.PostRepository;
+import com.example.post.repository.PostRequestRepository;
+import com.example.post.repository.ShareRepository;
+import com.example.post.service.TimelineService;
+import com.example.post.service.impl.PostServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Synthetic posts and a PostServiceImpl wired to the in-memory stand-ins with the default settings
+public final class Fixtures {
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    private Fixtures() {
+    }
+
+    // posts spread over the last 30 days with skewed engagement and a few recent comments
+    public static List<Post> posts(int count, long seed) {
+        Random random = new Random(seed);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant createdAt = NOW.minus(Duration.ofSeconds(random.nextInt(30 * 24 * 3600)));
+            int likes = (int) (Math.pow(random.nextDouble(), 4) * 5000);
+            int shares = random.nextInt(20);
+            List<Comment> comments = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                Comment comment = Comment.builder()
+                    .id("c-" + i + "-" + c)
+                    .postId("p-" + i)
+                    .userId("u-" + random.nextInt(10_000))
+                    .text("Comment " + c + " on post " + i + ", looks great!")
+                    .build();
+                comment.setCreatedAt(createdAt.plusSeconds(60L * (c + 1)));
+                comments.add(comment);
+            }
+            Post post = Post.builder()
+                .id("p-" + i)
+                .authorId("u-" + random.nextInt(10_000))
+                .authorName("Author " + random.nextInt(10_000))
+                .caption("Synthetic caption of post " + i + " with a few words of text #demo")
+                .mediaUrls(List.of("https://cdn.example.com/media/" + i + "/1.jpg",
+                    "https://cdn.example.com/media/" + i + "/2.jpg"))
+                .likes(likes)
+                .commentCount(3 + random.nextInt(50))
+                .recentComments(comments)
+                .shareCount(shares)
+                .engagementScore(likes + shares)
+                .build();
+            post.setCreatedAt(createdAt);
+            post.setUpdatedAt(createdAt);
+            post.setHotScore(HotScore.of(post.getEngagementScore(), createdAt));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    public static PostServiceImpl postService(StandIns.Posts posts, StandIns.Likes likes, List<String> timeline,
+                                              boolean bufferEnabled) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostRepository postRepository = StandIns.of(PostRepository.class, posts);
+        PostCache postCache = new PostCache(64L * 1024 * 1024, meterRegistry);
+        EngagementCounterBuffer buffer = new EngagementCounterBuffer(postRepository, postCache, bufferEnabled, 16);
+        TimelineService timelineService = new TimelineService() {
+            @Override
+            public void fanOut(String postId) {
+            }
+
+            @Override
+            public void remove(String postId) {
+            }
+
+            @Override
+            public List<String> getTimeline(String userId) {
+                return timeline;
+            }
+        };
+        PostServiceImpl service = new PostServiceImpl(
+            postRepository,
+            StandIns.of(PostLikeRepository.class, likes),
+            StandIns.of(ShareRepository.class, new StandIns.Shares()),
+            StandIns.of(CommentRepository.class, new Object()),
+            timelineService,
+            new EngagementCounters(postRepository, buffer, postCache, new ShardedCounters(
+                StandIns.of(PostCounterShardRepository.class, new Object()), postRepository, postCache, meterRegistry,
+                false, 8, 50, 60)),
+            postCache,
+            new SingleFlight<>("feed", meterRegistry),
+            new IdempotencyStore(StandIns.of(PostRequestRepository.class, new Object()), null, 100),
+            new PostMetrics(meterRegistry),
+            StandIns.of(PostEventRepository.class, new StandIns.Events()),
+            new ProfileCache(new ProfileClient("http://localhost:8081", "", 1000), meterRegistry, false, 1000, 300, 500, 5000));
+        StandIns.setField(service, "recentComments", 3);
+        StandIns.setField(service, "maxBatchSize", 300);
+        return service;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.post.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.common.web.APIResponse;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.model.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of an APIResponse<List<PostResponseDto>> body, with the ObjectMapper
+ * settings Spring Boot applies to the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private APIResponse<List<PostResponseDto>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        StandIns.Posts store = new StandIns.Posts();
+        List<Post> synthetic = Fixtures.posts(size, 3);
+        synthetic.forEach(store::add);
+        List<PostResponseDto> page = Fixtures.postService(store, new StandIns.Likes(), List.of(), false)
+            .batchGet(BatchGetRequestDto.builder()
+                .ids(synthetic.stream().map(Post::getId).collect(Collectors.toList()))
+                .build());
+        response = APIResponse.ok(null, page, null);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.post.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.dto.PageCursor;
+import com.example.post.model.Post;
+import com.example.post.model.PostEvent;
+import com.example.post.model.PostLike;
+import com.example.post.model.PostSummary;
+import com.example.post.model.Share;
+
+/**
+ * In-memory stand-ins for the Mongo repositories, so benchmarks measure the service code and not
+ * the database. Only the repository methods the benchmarked paths call are implemented.
+ */
+public final class StandIns {
+
+    private StandIns() {
+    }
+
+    // A proxy of the repository interface that calls the same-signature public method of target
+    public static <T> T of(Class<T> type, Object target) {
+        Map<Method, Method> dispatch = new ConcurrentHashMap<>();
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            Method impl = dispatch.computeIfAbsent(method, m -> {
+                try {
+                    return target.getClass().getMethod(m.getName(), m.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + m.getName() + " has no stand-in");
+                }
+            });
+            try {
+                return impl.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+
+    // sets an injected field, e.g. an @Value setting, of an object built outside Spring
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // PostRepository
+    public static class Posts {
+        private final Map<String, Post> byId = new HashMap<>();
+        private final Map<String, PageCursor> positions = new HashMap<>();
+
+        public void add(Post post) {
+            byId.put(post.getId(), post);
+            positions.put(post.getId(), new PageCursor(post.getHotScore(), post.getCreatedAt(), post.getId()));
+        }
+
+        // What the hotScore_createdAt_id index answers in Mongo: the keyset range after the cursor,
+        // cut to skip + limit in ranking order, kept in a bounded heap
+        public List<Post> findRanked(Collection<String> ids, PageCursor after, int skip, int limit) {
+            int keep = skip + limit;
+            PriorityQueue<PageCursor> top = new PriorityQueue<>(keep + 1, PageCursor.RANKING.reversed());
+            for (String id : ids) {
+                PageCursor position = positions.get(id);
+                if (position == null || (after != null && !after.isBefore(position))) {
+                    continue;
+                }
+                top.add(position);
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+            List<PageCursor> ranked = new ArrayList<>(top);
+            ranked.sort(PageCursor.RANKING);
+            return ranked.subList(Math.min(skip, ranked.size()), ranked.size()).stream()
+                .map(position -> byId.get(position.getId()))
+                .collect(Collectors.toList());
+        }
+
+        public List<PostSummary> findSummariesByIdIn(Collection<String> ids) {
+            return ids.stream()
+                .map(byId::get)
+                .filter(post -> post != null)
+                .map(PostSummary::of)
+                .collect(Collectors.toList());
+        }
+
+        public Set<String> findExistingIds(Collection<String> ids) {
+            return ids.stream()
+                .filter(byId::containsKey)
+                .collect(Collectors.toSet());
+        }
+
+        public Set<String> incrementCounters(Map<String, EngagementCounterBuffer.Delta> deltas) {
+            deltas.forEach((postId, delta) -> {
+                Post post = byId.get(postId);
+                post.setLikes((int) (post.getLikes() + delta.likes()));
+                post.setShareCount((int) (post.getShareCount() + delta.shares()));
+            });
+            return Set.of();
+        }
+    }
+
+    // PostLikeRepository, one entry per (postId, userId) like the unique index
+    public static class Likes {
+        private final Set<String> pairs = new HashSet<>();
+
+        public void like(String postId, String userId) {
+            pairs.add(key(postId, userId));
+        }
+
+        public Set<String> findLikedPostIds(String userId, Collection<String> postIds) {
+            return postIds.stream()
+                .filter(postId -> pairs.contains(key(postId, userId)))
+                .collect(Collectors.toSet());
+        }
+
+        public List<Boolean> insertNew(List<PostLike> likes) {
+            return likes.stream()
+                .map(like -> pairs.add(key(like.getPostId(), like.getUserId())))
+                .collect(Collectors.toList());
+        }
+
+        public List<Boolean> deleteExisting(List<PostLike> likes) {
+            return likes.stream()
+                .map(like -> pairs.remove(key(like.getPostId(), like.getUserId())))
+                .collect(Collectors.toList());
+        }
+
+        private static String key(String postId, String userId) {
+            return postId + '\u0000' + userId;
+        }
+    }
+
+    // PostEventRepository, gives the events ids without storing them
+    public static class Events {
+        public void append(List<PostEvent> events) {
+            for (PostEvent event : events) {
+                event.setId(new ObjectId());
+            }
+        }
+    }
+
+    // ShareRepository, keeps only the count of logged shares
+    public static class Shares {
+        private long logged;
+
+        public <S extends Share> List<S> insert(Iterable<S> shares) {
+            List<S> inserted = new ArrayList<>();
+            shares.forEach(inserted::add);
+            logged += inserted.size();
+            return inserted;
+        }
+    }
+}
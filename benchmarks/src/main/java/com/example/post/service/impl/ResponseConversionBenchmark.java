@@ -0,0 +1,51 @@
+package com.example.post.service.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.post.benchmarks.Fixtures;
+import com.example.post.benchmarks.StandIns;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.model.PostSummary;
+
+/**
+ * PostServiceImpl.convertToResponseDto of a post with its recent comments, with and without the
+ * engagement counter buffer overlay. Lives in the service package to reach the package-private method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseConversionBenchmark {
+    @Param({"false", "true"})
+    public boolean bufferEnabled;
+
+    private PostServiceImpl postService;
+    private PostSummary post;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        post = PostSummary.of(Fixtures.posts(1, 1).get(0));
+        postService = Fixtures.postService(new StandIns.Posts(), new StandIns.Likes(), List.of(), bufferEnabled);
+    }
+
+    @Benchmark
+    public PostResponseDto convert() {
+        return postService.convertToResponseDto(post, true);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.common.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Drop count and queue depth of every {@link BoundedAsyncAppender} on the root logger, as
+ * logging.events.dropped and logging.queue.size tagged by appender name.
+ */
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof BoundedAsyncAppender appender) {
+                FunctionCounter.builder("logging.events.dropped", appender, BoundedAsyncAppender::getDropped)
+                    .tag("appender", appender.getName())
+                    .description("Log events dropped because the async queue was full")
+                    .register(registry);
+                Gauge.builder("logging.queue.size", appender, BoundedAsyncAppender::getNumberOfElementsInQueue)
+                    .tag("appender", appender.getName())
+                    .description("Log events waiting in the async queue")
+                    .register(registry);
+            }
+        }
+    }
+}
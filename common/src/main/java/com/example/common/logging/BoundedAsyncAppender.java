@@ -0,0 +1,84 @@
+package com.example.common.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Logback's {@link AsyncAppender} that never blocks the calling thread and counts what it drops.
+ *
+ * <p>Queueing, the worker thread and the flush on stop are logback's. Once the free capacity drops
+ * below {@code discardingThreshold}, TRACE to INFO events are dropped; WARN and ERROR are only dropped
+ * when the queue is full. Every drop is counted, the total is exposed through {@link #getDropped()}
+ * and a WARN with the number of events lost since the last report is written every 10 seconds.
+ */
+public class BoundedAsyncAppender extends AsyncAppender {
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    private final LongAdder dropped = new LongAdder();
+    private long reportedDrops;
+    private ScheduledFuture<?> reporter;
+
+    public BoundedAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            reporter = getContext().getScheduledExecutorService().scheduleAtFixedRate(
+                this::reportDrops, REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        reporter.cancel(false);
+        reportDrops();
+        super.stop();
+    }
+
+    // The base class drops silently, so its two drop rules are checked here first to count them.
+    // Under contention a full queue can still lose an event between the check and the offer.
+    @Override
+    protected void append(ILoggingEvent event) {
+        int free = getRemainingCapacity();
+        if ((free < getDiscardingThreshold() && isDiscardable(event)) || (free == 0 && isNeverBlock())) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    // written straight to the attached appenders, so the report is not lost to a full queue
+    private synchronized void reportDrops() {
+        long total = dropped.sum();
+        if (total <= reportedDrops) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) getContext();
+        ILoggingEvent warning = new LoggingEvent(
+            BoundedAsyncAppender.class.getName(), context.getLogger(BoundedAsyncAppender.class), Level.WARN,
+            "Dropped {} log events, queue of [{}] was full", null, new Object[] {total - reportedDrops, getName()});
+        for (Iterator<Appender<ILoggingEvent>> it = iteratorForAppenders(); it.hasNext(); ) {
+            it.next().doAppend(warning);
+        }
+        reportedDrops = total;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.common.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * With {@code format=json}, one JSON object per line: timestamp, level, logger, thread, message,
+ * then the MDC entries and the key-value pairs of the event as top-level fields, and the stack
+ * trace if any. With {@code format=text}, the event laid out with {@code pattern}.
+ */
+public class LogLineEncoder extends EncoderBase<ILoggingEvent> {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private String format = "json";
+    private String pattern;
+    private PatternLayout layout;
+
+    @Override
+    public void start() {
+        if ("text".equals(format)) {
+            layout = new PatternLayout();
+            layout.setContext(getContext());
+            layout.setPattern(pattern);
+            layout.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (layout != null) {
+            layout.stop();
+        }
+        super.stop();
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        if (layout != null) {
+            return layout.doLayout(event).getBytes(StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("@timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("message", event.getFormattedMessage());
+            for (Map.Entry<String, String> mdc : event.getMDCPropertyMap().entrySet()) {
+                json.writeStringField(mdc.getKey(), mdc.getValue());
+            }
+            if (event.getKeyValuePairs() != null) {
+                for (KeyValuePair pair : event.getKeyValuePairs()) {
+                    json.writeFieldName(pair.key);
+                    writeValue(json, pair.value);
+                }
+            }
+            if (event.getThrowableProxy() != null) {
+                json.writeStringField("exception", ThrowableProxyUtil.asString(event.getThrowableProxy()));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    // numbers and booleans stay typed so they can be filtered on, anything else is written as text
+    private static void writeValue(JsonGenerator json, Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Integer || value instanceof Long) {
+            json.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            json.writeNumber(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+}
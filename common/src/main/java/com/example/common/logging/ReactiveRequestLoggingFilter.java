@@ -0,0 +1,35 @@
+package com.example.common.logging;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux request log, written when the response completes.
+ */
+public class ReactiveRequestLoggingFilter implements WebFilter {
+    private final RequestLogSampler sampler;
+
+    public ReactiveRequestLoggingFilter(RequestLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            sampler.completed(exchange.getRequest().getMethod().name(),
+                pattern != null ? pattern.toString() : exchange.getRequest().getPath().value(),
+                status != null ? status.value() : 200, System.nanoTime() - start);
+        });
+    }
+}
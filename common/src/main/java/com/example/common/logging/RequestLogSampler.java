@@ -0,0 +1,46 @@
+package com.example.common.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which requests are logged and writes the line, shared by the servlet and reactive filters.
+ */
+public class RequestLogSampler {
+    private static final Logger log = LoggerFactory.getLogger("request");
+
+    private final RequestLoggingProperties properties;
+    private final long slowNanos;
+
+    public RequestLogSampler(RequestLoggingProperties properties) {
+        this.properties = properties;
+        this.slowNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    public void completed(String method, String pattern, int status, long durationNanos) {
+        if (!log.isInfoEnabled() || !sampled(pattern, status, durationNanos)) {
+            return;
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        log.atInfo()
+            .addKeyValue("method", method)
+            .addKeyValue("uri", pattern)
+            .addKeyValue("status", status)
+            .addKeyValue("durationMs", durationMs)
+            .log("{} {} {} {}ms", method, pattern, status, durationMs);
+    }
+
+    private boolean sampled(String pattern, int status, long durationNanos) {
+        if (properties.isAlwaysLogErrors() && status >= 500) {
+            return true;
+        }
+        if (durationNanos >= slowNanos) {
+            return true;
+        }
+        double rate = properties.getEndpoints().getOrDefault(pattern, properties.getSampleRate());
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
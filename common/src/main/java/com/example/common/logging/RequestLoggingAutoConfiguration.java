@@ -0,0 +1,65 @@
+package com.example.common.logging;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sampled request logging and async logging metrics for every service that depends on common.
+ * The appenders are set up by common-logback.xml, which a service includes from its own logback-spring.xml.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class RequestLoggingAutoConfiguration {
+
+    // nested so the bean method, whose return type is a MeterBinder, is only introspected when
+    // micrometer is on the classpath
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class Metrics {
+
+        @Bean
+        public AsyncLoggingMetrics asyncLoggingMetrics() {
+            return new AsyncLoggingMetrics();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.logging.requests", name = "enabled", matchIfMissing = true)
+    static class Sampling {
+
+        @Bean
+        public RequestLogSampler requestLogSampler(RequestLoggingProperties properties) {
+            return new RequestLogSampler(properties);
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static class Servlet {
+
+            @Bean
+            public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(RequestLogSampler sampler) {
+                FilterRegistrationBean<RequestLoggingFilter> registration =
+                    new FilterRegistrationBean<>(new RequestLoggingFilter(sampler));
+                registration.addUrlPatterns("/api/*");
+                return registration;
+            }
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+        @ConditionalOnClass(name = "org.springframework.web.server.WebFilter")
+        static class Reactive {
+
+            @Bean
+            public ReactiveRequestLoggingFilter reactiveRequestLoggingFilter(RequestLogSampler sampler) {
+                return new ReactiveRequestLoggingFilter(sampler);
+            }
+        }
+    }
+}
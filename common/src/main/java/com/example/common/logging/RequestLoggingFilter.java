@@ -0,0 +1,38 @@
+package com.example.common.logging;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet request log. Streamed responses are logged when the handler returns, before the body
+ * has been fully written.
+ */
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final RequestLogSampler sampler;
+
+    public RequestLoggingFilter(RequestLogSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sampler.completed(request.getMethod(), pattern != null ? pattern.toString() : request.getRequestURI(),
+                status, System.nanoTime() - start);
+        }
+    }
+}
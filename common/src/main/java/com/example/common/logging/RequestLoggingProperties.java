@@ -0,0 +1,26 @@
+package com.example.common.logging;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sampled request log: one line per sampled /api request with method, endpoint pattern, status
+ * and duration. Errors and slow requests are always logged.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.logging.requests")
+public class RequestLoggingProperties {
+    private boolean enabled = true;
+    // share of requests logged, 0.0 to 1.0
+    private double sampleRate = 0.01;
+    // per endpoint pattern overrides, e.g. "[/api/posts/create]": 1.0
+    private Map<String, Double> endpoints = new HashMap<>();
+    // 5xx responses and requests slower than this are logged whatever the rate
+    private boolean alwaysLogErrors = true;
+    private Duration slowThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,41 @@
+package com.example.common.threads;
+
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Opt-in virtual thread mode shared by all services. With {@code app.threads.virtual.enabled=true}
+ * Tomcat runs each request, {@code @Async} method and {@code @Scheduled} task on its own virtual
+ * thread, so requests blocked on Mongo, JPA, SMTP or file I/O no longer hold one of the 200
+ * platform threads of the default Tomcat pool.
+ *
+ * <p>The switch is mapped to Spring Boot's {@code spring.threads.virtual.enabled} as a default, an
+ * explicit value of that property still wins. It has no effect below Java 21.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    static final String ENABLED = "app.threads.virtual.enabled";
+
+    private final Log log;
+
+    public VirtualThreadsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(VirtualThreadsEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(ENABLED, Boolean.class, false)) {
+            return;
+        }
+        environment.getPropertySources().addLast(new MapPropertySource("virtualThreads", Map.of(
+            "spring.threads.virtual.enabled", true,
+            // virtual threads never block the JVM from exiting, keep it alive while the server runs
+            "spring.main.keep-alive", true)));
+        log.info("Virtual threads enabled for requests, @Async and scheduled tasks");
+    }
+}
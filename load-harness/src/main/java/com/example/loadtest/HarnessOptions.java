@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value.
+ */
+final class HarnessOptions {
+    static final String DEFAULT_MIX = "feed=80,like=15,create=5";
+
+    final String postUrl;
+    final String mediaUrl;
+    final String authUrl;
+    final String mailpitUrl;
+    final Map<Operation, Integer> mix;
+    final int connections;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final double rate;
+    final int users;
+    final int authors;
+    final int seedPosts;
+    final int accounts;
+    final int pageSize;
+    final int uploadBytes;
+    final Path hgrmDir;
+
+    private HarnessOptions(Map<String, String> opts) {
+        postUrl = opts.getOrDefault("post-url", "http://localhost:8082");
+        mediaUrl = opts.getOrDefault("media-url", "http://localhost:8083");
+        authUrl = opts.getOrDefault("auth-url", "http://localhost:8081");
+        mailpitUrl = opts.getOrDefault("mailpit-url", "http://localhost:8025");
+        mix = parseMix(opts.getOrDefault("mix", DEFAULT_MIX));
+        connections = Integer.parseInt(opts.getOrDefault("connections", "64"));
+        durationSeconds = Integer.parseInt(opts.getOrDefault("duration", "60"));
+        warmupSeconds = Integer.parseInt(opts.getOrDefault("warmup", "10"));
+        rate = Double.parseDouble(opts.getOrDefault("rate", "0"));
+        users = Integer.parseInt(opts.getOrDefault("users", "1000"));
+        authors = Integer.parseInt(opts.getOrDefault("authors", "100"));
+        seedPosts = Integer.parseInt(opts.getOrDefault("seed-posts", "1000"));
+        accounts = Integer.parseInt(opts.getOrDefault("accounts", "20"));
+        pageSize = Integer.parseInt(opts.getOrDefault("page-size", "10"));
+        uploadBytes = Integer.parseInt(opts.getOrDefault("upload-bytes", "65536"));
+        hgrmDir = opts.containsKey("hgrm-dir") ? Path.of(opts.get("hgrm-dir")) : null;
+    }
+
+    static HarnessOptions parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            opts.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        return new HarnessOptions(opts);
+    }
+
+    // "feed=80,like=15,create=5" or "all" for an equal share of every endpoint
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        if (spec.equals("all")) {
+            for (Operation op : Operation.values()) {
+                mix.put(op, 1);
+            }
+            return mix;
+        }
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=", 2);
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1]) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            if (weight > 0) {
+                mix.put(Operation.byName(kv[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + spec);
+        }
+        return mix;
+    }
+
+    boolean uses(Operation.Service service) {
+        return mix.keySet().stream().anyMatch(op -> op.service == service);
+    }
+}
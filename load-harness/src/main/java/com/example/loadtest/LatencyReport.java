@@ -0,0 +1,89 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-operation HDR latency histograms (microsecond resolution, 3 significant digits), error and
+ * skip counts, printed as a percentile table and optionally written out as .hgrm files.
+ */
+final class LatencyReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+
+    LatencyReport(Iterable<Operation> operations) {
+        for (Operation op : operations) {
+            recorders.put(op, new Recorder(3));
+            errors.put(op, new LongAdder());
+            skipped.put(op, new LongAdder());
+        }
+    }
+
+    void record(Operation op, long nanos, boolean ok) {
+        recorders.get(op).recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (!ok) {
+            errors.get(op).increment();
+        }
+    }
+
+    void skip(Operation op) {
+        skipped.get(op).increment();
+    }
+
+    // Drop everything recorded so far, at the end of the warmup
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        skipped.values().forEach(LongAdder::reset);
+    }
+
+    void print(PrintStream out, double seconds, Path hgrmDir) throws IOException {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        out.printf("%-16s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "skipped", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            Operation op = entry.getKey();
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            total.add(histogram);
+            totalErrors += errors.get(op).sum();
+            row(out, op.label, histogram, errors.get(op).sum(), skipped.get(op).sum(), seconds);
+            write(hgrmDir, op.label, histogram);
+        }
+        row(out, "total", total, totalErrors, 0, seconds);
+        write(hgrmDir, "total", total);
+    }
+
+    private void row(PrintStream out, String label, Histogram h, long errorCount, long skipCount, double seconds) {
+        out.printf("%-16s %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            label, h.getTotalCount(), errorCount, skipCount, h.getTotalCount() / seconds,
+            millis(h, 50), millis(h, 95), millis(h, 99), millis(h, 99.9),
+            h.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private void write(Path dir, String label, Histogram h) throws IOException {
+        if (dir == null) {
+            return;
+        }
+        Files.createDirectories(dir);
+        try (PrintStream file = new PrintStream(Files.newOutputStream(dir.resolve(label + ".hgrm")))) {
+            h.outputPercentileDistribution(file, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Drives the running services with a weighted mix of endpoints and reports throughput and
+ * p50/p95/p99/p999 latency per endpoint from HDR histograms. Everything it needs is local: start
+ * the stand-ins from load-harness/docker-compose.yml, start the services with the loadtest
+ * profile, then for example:
+ *
+ * <pre>
+ * java -jar load-harness/target/load-harness.jar --mix=feed=80,like=15,create=5 --connections=64 --duration=60
+ * java -jar load-harness/target/load-harness.jar --mix=all --rate=500 --hgrm-dir=target/hgrm
+ * </pre>
+ *
+ * Without --rate the run is closed-loop and measures service time. With --rate each request has
+ * an intended start time and latency is measured from it, so a stalled server shows up in the
+ * percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+public final class LoadHarness {
+    static final String ACCOUNT_PASSWORD = "load-harness-password";
+    private static final Pattern VERIFICATION_TOKEN = Pattern.compile("token=([0-9a-fA-F-]{36})");
+
+    private final HarnessOptions options;
+    private final Workload workload;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private LoadHarness(HarnessOptions options) {
+        this.options = options;
+        this.workload = new Workload(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadHarness(HarnessOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        System.out.println("mix " + options.mix + ", " + options.connections + " connections, "
+            + (options.rate > 0 ? options.rate + " req/s open-loop" : "closed-loop")
+            + ", warmup " + options.warmupSeconds + " s, duration " + options.durationSeconds + " s");
+        if (options.uses(Operation.Service.POST)) {
+            seedPosts();
+        }
+        if (options.mix.containsKey(Operation.LOGIN)) {
+            seedAccounts();
+        }
+
+        List<Operation> operations = new ArrayList<>(options.mix.keySet());
+        int[] cumulative = new int[operations.size()];
+        int sum = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            sum += options.mix.get(operations.get(i));
+            cumulative[i] = sum;
+        }
+        int totalWeight = sum;
+        LatencyReport report = new LatencyReport(operations);
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(options.warmupSeconds).toNanos();
+        long deadline = measureFrom + Duration.ofSeconds(options.durationSeconds).toNanos();
+        long interval = options.rate > 0 ? (long) (1e9 / options.rate) : 0;
+        AtomicLong ticket = new AtomicLong();
+
+        List<Future<?>> callers = new ArrayList<>(options.connections);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < options.connections; c++) {
+                callers.add(clients.submit(() -> {
+                    while (true) {
+                        long intended = System.nanoTime();
+                        if (interval > 0) {
+                            intended = start + ticket.getAndIncrement() * interval;
+                            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        }
+                        if (intended >= deadline) {
+                            return null;
+                        }
+                        Operation op = pick(operations, cumulative, totalWeight);
+                        HttpRequest request = op.request(workload);
+                        if (request == null) {
+                            report.skip(op);
+                            continue;
+                        }
+                        boolean ok = send(op, request);
+                        report.record(op, System.nanoTime() - intended, ok);
+                    }
+                }));
+            }
+            Thread.sleep(Duration.ofNanos(Math.max(0, measureFrom - System.nanoTime())));
+            report.reset();
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        }
+        double seconds = (System.nanoTime() - measureFrom) / 1e9;
+
+        System.out.printf("measured %.1f s%n", seconds);
+        report.print(System.out, seconds, options.hgrmDir);
+    }
+
+    private Operation pick(List<Operation> operations, int[] cumulative, int sum) {
+        int roll = ThreadLocalRandom.current().nextInt(sum);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private boolean send(Operation op, HttpRequest request) {
+        try {
+            if (op.streaming) {
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            }
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // the services answer 200 with the outcome in the APIResponse envelope
+            if (response.statusCode() != 200 || !response.body().startsWith("{\"code\":200")) {
+                return false;
+            }
+            op.completed(workload, response.body());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Create the posts the read and engagement operations act on, through the create endpoint
+    private void seedPosts() throws Exception {
+        try (ExecutorService seeders = Executors.newFixedThreadPool(options.connections)) {
+            List<Future<String>> ids = new ArrayList<>(options.seedPosts);
+            for (int i = 0; i < options.seedPosts; i++) {
+                ids.add(seeders.submit(() -> {
+                    HttpResponse<String> response = client.send(
+                        workload.postJson(options.postUrl, "/api/posts/create", workload.newPost()),
+                        HttpResponse.BodyHandlers.ofString());
+                    return workload.read(response.body()).path("data").path("id").asText(null);
+                }));
+            }
+            for (Future<String> id : ids) {
+                if (id.get() != null) {
+                    workload.addPost(id.get());
+                }
+            }
+        }
+        if (workload.postCount() == 0) {
+            throw new IllegalStateException("Could not seed any post at " + options.postUrl);
+        }
+        System.out.println("seeded " + workload.postCount() + " posts");
+    }
+
+    // Register accounts for login and verify them with the token mailed to the local SMTP sink
+    private void seedAccounts() throws Exception {
+        for (int i = 0; i < options.accounts; i++) {
+            String username = workload.newUsername();
+            String email = username + "@loadtest.local";
+            HttpResponse<String> registered = client.send(
+                workload.postJson(options.authUrl, "/api/auth/register",
+                    Map.of("username", username, "email", email, "password", ACCOUNT_PASSWORD)),
+                HttpResponse.BodyHandlers.ofString());
+            if (!registered.body().startsWith("{\"code\":200")) {
+                throw new IllegalStateException("Registration failed: " + registered.body());
+            }
+            String token = verificationToken(email);
+            client.send(workload.postJson(options.authUrl, "/api/auth/email/verify", Map.of("token", token)),
+                HttpResponse.BodyHandlers.discarding());
+            workload.addAccount(username, ACCOUNT_PASSWORD);
+        }
+        System.out.println("registered " + options.accounts + " verified accounts");
+    }
+
+    private String verificationToken(String email) throws Exception {
+        String query = URLEncoder.encode("to:" + email, StandardCharsets.UTF_8);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            JsonNode messages = workload.read(client.send(
+                workload.get(options.mailpitUrl, "/api/v1/search?query=" + query),
+                HttpResponse.BodyHandlers.ofString()).body()).path("messages");
+            if (messages.size() > 0) {
+                String text = workload.read(client.send(
+                    workload.get(options.mailpitUrl, "/api/v1/message/" + messages.get(0).path("ID").asText()),
+                    HttpResponse.BodyHandlers.ofString()).body()).path("Text").asText();
+                Matcher matcher = VERIFICATION_TOKEN.matcher(text);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("No verification mail for " + email + " at " + options.mailpitUrl);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+/**
+ * One endpoint of PostController, MediaController or AuthController, named as in the --mix option.
+ */
+enum Operation {
+    CREATE("create", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/create", w.newPost());
+        }
+
+        @Override
+        void completed(Workload w, String body) {
+            w.created(w.read(body).path("data").path("id").asText());
+        }
+    },
+    FIND_DATA("findData", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/findData", w.search());
+        }
+    },
+    GET("get", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get(w.options.postUrl, "/api/posts/" + w.anyPost());
+        }
+    },
+    BATCH_GET("batchGet", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/batchGet",
+                Map.of("ids", w.somePosts(w.options.pageSize), "userId", w.anyUser()));
+        }
+    },
+    UPDATE("update", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/" + w.anyPost() + "/update", w.newPost());
+        }
+    },
+    DELETE("delete", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            String id = w.takeDeletable();
+            return id == null ? null : w.post(w.options.postUrl, "/api/posts/" + id + "/delete");
+        }
+    },
+    LIKE("like", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.post(w.options.postUrl, "/api/posts/" + w.anyPost() + "/like?userId=" + w.anyUser());
+        }
+    },
+    UNLIKE("unlike", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.post(w.options.postUrl, "/api/posts/" + w.anyPost() + "/unlike?userId=" + w.anyUser());
+        }
+    },
+    COMMENT("comment", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            String user = w.anyUser();
+            return w.postJson(w.options.postUrl, "/api/posts/" + w.anyPost() + "/comment",
+                Map.of("userId", user, "userName", user, "text", w.anyWord() + " " + w.anyWord()));
+        }
+    },
+    COMMENTS("comments", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get(w.options.postUrl,
+                "/api/posts/" + w.anyPost() + "/comments?pageSize=" + w.options.pageSize);
+        }
+    },
+    SHARE("share", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.post(w.options.postUrl,
+                "/api/posts/" + w.anyPost() + "/share?userId=" + w.anyUser() + "&sharedTo=feed");
+        }
+    },
+    ENGAGEMENT_BATCH("engagementBatch", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/engagement/batch",
+                Map.of("ops", w.engagementOps(50)));
+        }
+    },
+    SHARES("shares", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get(w.options.postUrl,
+                "/api/posts/" + w.anyPost() + "/shares?pageSize=" + w.options.pageSize);
+        }
+    },
+    FEED("feed", Service.POST) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/feed/personalized", w.feed());
+        }
+    },
+    FEED_STREAM("feedStream", Service.POST, true) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/feed/personalized/stream", w.feed());
+        }
+    },
+    FIND_DATA_STREAM("findDataStream", Service.POST, true) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.postUrl, "/api/posts/findData/stream", w.search());
+        }
+    },
+    EXPORT("export", Service.POST, true) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get(w.options.postUrl, "/api/posts/author/" + w.anyAuthor() + "/export");
+        }
+    },
+    UPLOAD("upload", Service.MEDIA, true) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.upload();
+        }
+    },
+    REGISTER("register", Service.AUTH) {
+        @Override
+        HttpRequest request(Workload w) {
+            String username = w.newUsername();
+            return w.postJson(w.options.authUrl, "/api/auth/register", Map.of(
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", LoadHarness.ACCOUNT_PASSWORD));
+        }
+    },
+    LOGIN("login", Service.AUTH) {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.postJson(w.options.authUrl, "/api/auth/login", w.anyAccount());
+        }
+    };
+
+    enum Service { POST, MEDIA, AUTH }
+
+    final String label;
+    final Service service;
+    // NDJSON and multipart responses: judged by status only and drained without buffering
+    final boolean streaming;
+
+    Operation(String label, Service service) {
+        this(label, service, false);
+    }
+
+    Operation(String label, Service service, boolean streaming) {
+        this.label = label;
+        this.service = service;
+        this.streaming = streaming;
+    }
+
+    // The request to send, or null when there is nothing to act on yet (delete before any create)
+    abstract HttpRequest request(Workload w);
+
+    // Called with the body of a successful non-streaming response
+    void completed(Workload w, String body) {
+    }
+
+    static Operation byName(String label) {
+        for (Operation op : values()) {
+            if (op.label.equalsIgnoreCase(label)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shared state of a run: the post ids, users, authors and verified accounts the operations draw
+ * from, and helpers to build their requests.
+ */
+final class Workload {
+    private static final int POOL_CAPACITY = 100_000;
+    private static final String[] WORDS = {
+        "coffee", "travel", "sunset", "music", "launch", "weekend", "design", "family", "running", "recipe"
+    };
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    final HarnessOptions options;
+    final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    // bounded ring of readable post ids, overwritten oldest first once full
+    private final AtomicReferenceArray<String> posts = new AtomicReferenceArray<>(POOL_CAPACITY);
+    private final AtomicInteger postCount = new AtomicInteger();
+    // posts created during the run, handed to delete so reads never hit a deleted id
+    private final ConcurrentLinkedQueue<String> deletable = new ConcurrentLinkedQueue<>();
+    private final List<Map<String, String>> accounts = new ArrayList<>();
+    private final AtomicInteger registered = new AtomicInteger();
+    private final byte[] upload;
+    private final String boundary = "----load-harness-" + runId;
+
+    Workload(HarnessOptions options) {
+        this.options = options;
+        this.upload = new byte[options.uploadBytes];
+        ThreadLocalRandom.current().nextBytes(upload);
+    }
+
+    // ---- pools
+
+    void addPost(String id) {
+        posts.set(postCount.getAndIncrement() % POOL_CAPACITY, id);
+    }
+
+    int postCount() {
+        return Math.min(postCount.get(), POOL_CAPACITY);
+    }
+
+    String anyPost() {
+        return posts.get(ThreadLocalRandom.current().nextInt(postCount()));
+    }
+
+    List<String> somePosts(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(anyPost());
+        }
+        return ids;
+    }
+
+    // Posts created by the run feed delete when it is part of the mix, the read pool otherwise
+    void created(String id) {
+        if (options.mix.containsKey(Operation.DELETE)) {
+            deletable.add(id);
+        } else {
+            addPost(id);
+        }
+    }
+
+    String takeDeletable() {
+        return deletable.poll();
+    }
+
+    String anyUser() {
+        return "load-user-" + ThreadLocalRandom.current().nextInt(options.users);
+    }
+
+    // numeric, as the search request carries authorId as a number
+    String anyAuthor() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(options.authors));
+    }
+
+    String anyWord() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+    void addAccount(String username, String password) {
+        accounts.add(Map.of("username", username, "password", password));
+    }
+
+    Map<String, String> anyAccount() {
+        return accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+    }
+
+    boolean hasAccounts() {
+        return !accounts.isEmpty();
+    }
+
+    String newUsername() {
+        return "load-" + runId + "-" + registered.incrementAndGet();
+    }
+
+    // ---- request bodies
+
+    Map<String, Object> newPost() {
+        String author = anyAuthor();
+        Map<String, Object> post = new LinkedHashMap<>();
+        post.put("authorId", author);
+        post.put("authorName", "Author " + author);
+        post.put("caption", anyWord() + " " + anyWord() + " " + anyWord());
+        post.put("mediaUrls", new String[] {"/uploads/load-" + anyWord() + ".jpg"});
+        post.put("requestId", UUID.randomUUID().toString());
+        return post;
+    }
+
+    Map<String, Object> search() {
+        Map<String, Object> search = new HashMap<>();
+        search.put("caption", anyWord());
+        search.put("pageSize", options.pageSize);
+        return search;
+    }
+
+    Map<String, Object> feed() {
+        return Map.of("userId", anyUser(), "pageSize", options.pageSize);
+    }
+
+    List<Map<String, String>> engagementOps(int count) {
+        List<Map<String, String>> ops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = i % 3 == 0 ? "UNLIKE" : "LIKE";
+            ops.add(Map.of("type", type, "postId", anyPost(), "userId", anyUser()));
+        }
+        return ops;
+    }
+
+    // ---- requests
+
+    HttpRequest get(String baseUrl, String path) {
+        return request(baseUrl, path).GET().build();
+    }
+
+    HttpRequest post(String baseUrl, String path) {
+        return request(baseUrl, path).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    HttpRequest postJson(String baseUrl, String path, Object body) {
+        return request(baseUrl, path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+            .build();
+    }
+
+    HttpRequest upload() {
+        String head = "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"ownerId\"\r\n\r\n" + anyUser() + "\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"load.bin\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        return request(options.mediaUrl, "/api/media/upload")
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head),
+                HttpRequest.BodyPublishers.ofByteArray(upload),
+                HttpRequest.BodyPublishers.ofString(tail)))
+            .build();
+    }
+
+    private HttpRequest.Builder request(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response: " + body, e);
+        }
+    }
+}
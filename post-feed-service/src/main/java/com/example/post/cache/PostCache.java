@@ -0,0 +1,180 @@
+package com.example.post.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.post.model.Comment;
+import com.example.post.model.PostSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of post summaries, bounded by their estimated heap footprint and evicted with
+ * Caffeine's W-TinyLFU policy. Writers keep it coherent by putting updated posts and invalidating
+ * posts whose stored counters or comments changed.
+ *
+ * <p>Every write bumps a generation of the post's stripe. A load notes the generation before it
+ * reads Mongo and only stores its result when no write happened meanwhile, so a slow load can not
+ * put back a post a writer has just replaced or invalidated.
+ */
+@Component
+public class PostCache {
+    private static final String NAME = "posts";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<String, PostSummary> cache;
+    private final SingleFlight<String, Optional<PostSummary>> loads;
+    private final SingleFlight<String, PostSummary> reactiveLoads;
+    // write generations by stripe of post ids, bounded whatever the number of posts
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public PostCache(@Value("${app.cache.posts.max-bytes:67108864}") long maxBytes, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String id, PostSummary post) -> estimateSize(post))
+            .recordStats()
+            .build();
+        this.loads = new SingleFlight<>(NAME, meterRegistry);
+        this.reactiveLoads = new SingleFlight<>(NAME, meterRegistry);
+
+        // hits, misses, evictions and size as cache.* meters tagged cache=posts
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("post.cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", NAME)
+            .register(meterRegistry);
+        Gauge.builder("post.cache.weighted.size", cache, c -> c.policy().eviction()
+                .map(e -> (double) e.weightedSize().orElse(0))
+                .orElse(0.0))
+            .tag("cache", NAME)
+            .baseUnit("bytes")
+            .description("Estimated heap footprint of the cached posts")
+            .register(meterRegistry);
+    }
+
+    // Concurrent misses of the same post share one loader call. The load runs outside the cache
+    // so it does not hold Caffeine's entry lock while waiting on Mongo. Absent posts are not cached.
+    public Optional<PostSummary> get(String id, Function<String, Optional<PostSummary>> loader) {
+        PostSummary cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loads.execute(id, () -> {
+            long generation = generation(id);
+            Optional<PostSummary> loaded = loader.apply(id);
+            loaded.ifPresent(post -> putLoaded(post, generation));
+            return loaded;
+        });
+    }
+
+    // Reactive get: concurrent misses of the same post share one in-flight query. Absent posts are not cached.
+    public Mono<PostSummary> getMono(String id, Function<String, Mono<PostSummary>> loader) {
+        PostSummary cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return reactiveLoads.executeMono(id, () -> {
+            long generation = generation(id);
+            return loader.apply(id).doOnNext(post -> putLoaded(post, generation));
+        });
+    }
+
+    // cached posts in the order of ids, loading all misses with one call; unknown ids are skipped
+    public List<PostSummary> getAll(List<String> ids, Function<Set<String>, Map<String, PostSummary>> loader) {
+        Map<String, PostSummary> posts = new HashMap<>(cache.getAllPresent(ids));
+        Map<String, Long> missing = new HashMap<>();
+        for (String id : ids) {
+            if (!posts.containsKey(id)) {
+                missing.put(id, generation(id));
+            }
+        }
+        if (!missing.isEmpty()) {
+            loader.apply(Set.copyOf(missing.keySet())).forEach((id, post) -> {
+                posts.put(id, post);
+                putLoaded(post, missing.get(id));
+            });
+        }
+        List<PostSummary> ordered = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            PostSummary post = posts.get(id);
+            if (post != null) {
+                ordered.add(post);
+            }
+        }
+        return ordered;
+    }
+
+    // cached posts among ids, never loads; for callers that load misses themselves
+    public Map<String, PostSummary> getAllPresent(Collection<String> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    // generation to pass to putLoaded, taken before reading the post
+    public long generation(String id) {
+        return generations.get(stripe(id));
+    }
+
+    // Store a post read from Mongo unless it was written since generation was taken. The check and
+    // the put run inside the entry's compute, which writers also go through.
+    public void putLoaded(PostSummary post, long generation) {
+        cache.asMap().compute(post.getId(), (id, current) ->
+            generations.get(stripe(id)) == generation ? post : current);
+    }
+
+    public void put(PostSummary post) {
+        cache.asMap().compute(post.getId(), (id, current) -> {
+            generations.incrementAndGet(stripe(id));
+            return post;
+        });
+    }
+
+    public void invalidate(String id) {
+        cache.asMap().compute(id, (key, current) -> {
+            generations.incrementAndGet(stripe(key));
+            return null;
+        });
+    }
+
+    public void invalidateAll(Collection<String> ids) {
+        ids.forEach(this::invalidate);
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+    }
+
+    // rough retained size in bytes: object headers and fields plus string payloads
+    static int estimateSize(PostSummary post) {
+        int size = 256 + chars(post.getId()) + chars(post.getAuthorId()) + chars(post.getAuthorName())
+            + chars(post.getCaption());
+        if (post.getMediaUrls() != null) {
+            for (String url : post.getMediaUrls()) {
+                size += 48 + chars(url);
+            }
+        }
+        if (post.getRecentComments() != null) {
+            for (Comment comment : post.getRecentComments()) {
+                size += 128 + chars(comment.getId()) + chars(comment.getUserId()) + chars(comment.getText());
+            }
+        }
+        return size;
+    }
+
+    private static int chars(String value) {
+        return value == null ? 0 : 40 + value.length() * 2;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.post.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers arriving
+ * while it is in flight wait for and share its result instead of issuing their own call.
+ * Nothing is kept once the load completes. {@link #executeMono} does the same for reactive loads.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Mono<V>> inFlightMonos = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("post.singleflight.loads")
+            .tag("name", name)
+            .description("Loads executed by the first caller of a key")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("post.singleflight.coalesced")
+            .tag("name", name)
+            .description("Calls served by sharing a load already in flight")
+            .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // waiters are released whatever the loader threw, an Error included
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // Subscribers arriving while a load of the key is in flight share its single subscription to Mongo
+    public Mono<V> executeMono(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            boolean[] first = {false};
+            Mono<V> call = inFlightMonos.computeIfAbsent(key, k -> {
+                first[0] = true;
+                AtomicReference<Mono<V>> self = new AtomicReference<>();
+                Mono<V> shared = loader.get()
+                    .doFinally(signal -> inFlightMonos.remove(k, self.get()))
+                    .cache();
+                self.set(shared);
+                return shared;
+            });
+            (first[0] ? loads : coalesced).increment();
+            return call;
+        });
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.post.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.post.metrics.MongoDocumentSizeListener;
+import com.example.post.metrics.TimedJsonHttpMessageConverter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    // applies to the blocking and the reactive Mongo client alike
+    @Bean
+    public MongoClientSettingsBuilderCustomizer documentSizeMetrics(MeterRegistry meterRegistry) {
+        return settings -> settings.addCommandListener(new MongoDocumentSizeListener(meterRegistry));
+    }
+
+    // time JSON serialization of the servlet responses
+    @Configuration
+    @Profile("!reactive")
+    static class ServletSerializationMetrics implements WebMvcConfigurer {
+        private final MeterRegistry meterRegistry;
+
+        ServletSerializationMetrics(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+            for (int i = 0; i < converters.size(); i++) {
+                if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson) {
+                    converters.set(i, new TimedJsonHttpMessageConverter(jackson.getObjectMapper(), meterRegistry));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.post.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveStackConfig {
+    // Tomcat is on the classpath for the servlet stack and would otherwise be picked for WebFlux too;
+    // Netty serves all connections from a few event-loop threads
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.post.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.post.cache.SingleFlight;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.FeedRequestDto;
+import com.example.post.dto.PostResponseDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SingleFlightConfig {
+
+    // identical feed requests (including anonymous ones, which all read the global timeline) share one build
+    @Bean
+    public SingleFlight<FeedRequestDto, CursorPageDto<PostResponseDto>> feedLoads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("feed", meterRegistry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.post.controller;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.example.common.web.APIResponse;
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.EngagementResultDto;
+import com.example.post.dto.PostCommentDto;
+import com.example.post.dto.PostRequestDto;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.PostShareDto;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.dto.FeedRequestDto;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The PostController contract on WebFlux, served under the reactive profile
+@Tag(name = "Post Feed Service")
+@RequestMapping("/api/posts")
+public interface ReactivePostController {
+    // create post
+    @PostMapping(path = "/create", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<PostResponseDto>> create(@Valid @RequestBody PostRequestDto req);
+
+    // search posts
+    @PostMapping(path = "/findData", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<HashMap<String, Object>>> findData(@Valid @RequestBody SearchPostRequestDto req);
+
+    // get post by id
+    @GetMapping("/{id}")
+    Mono<APIResponse<PostResponseDto>> getById(@PathVariable String id);
+
+    // get many posts by id, in the order given
+    @PostMapping(path = "/batchGet", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<List<PostResponseDto>>> batchGet(@Valid @RequestBody BatchGetRequestDto req);
+
+    // update post
+    @PostMapping(path = "/{id}/update", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<PostResponseDto>> update(@PathVariable String id, @Valid @RequestBody PostRequestDto req);
+
+    // delete post
+    @PostMapping(path = "/{id}/delete", produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<Void>> delete(@PathVariable String id);
+
+    // like function
+    @PostMapping(path = "/{id}/like", produces = MediaType.APPLICATION_JSON_VALUE)  
+    Mono<APIResponse<Void>> like(@PathVariable String id, @RequestParam String userId);
+
+    // unlike function
+    @PostMapping(path = "/{id}/unlike", produces = MediaType.APPLICATION_JSON_VALUE)  
+    Mono<APIResponse<Void>> unlike(@PathVariable String id, @RequestParam String userId);
+
+    // comment function
+    @PostMapping(path = "/{id}/comment", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<String>> comment(@PathVariable String id, @Valid @RequestBody PostCommentDto req);
+
+    // comments, newest first
+    @GetMapping(path = "/{id}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<CursorPageDto<PostCommentDto>>> getComments(@PathVariable String id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "10") int pageSize);
+
+    // share function
+    @PostMapping(path = "/{id}/share", produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<Void>> share(@PathVariable String id, @RequestParam String userId, @RequestParam String sharedTo);
+
+    // apply many like/unlike/share ops, one result per op
+    @PostMapping(path = "/engagement/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<List<EngagementResultDto>>> applyEngagement(@Valid @RequestBody BatchEngagementRequestDto req);
+
+    // share history, newest first
+    @GetMapping(path = "/{id}/shares", produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<CursorPageDto<PostShareDto>>> getShares(@PathVariable String id,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "10") int pageSize);
+
+    // get personalized feed
+    @PostMapping(path = "/feed/personalized", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    Mono<APIResponse<CursorPageDto<PostResponseDto>>> getPersonalizedFeed(@Valid @RequestBody FeedRequestDto req);
+
+    // whole personalized feed as NDJSON, one post per line
+    @PostMapping(path = "/feed/personalized/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<PostResponseDto> streamPersonalizedFeed(@Valid @RequestBody FeedRequestDto req);
+
+    // all search matches as NDJSON, one post per line
+    @PostMapping(path = "/findData/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<PostResponseDto> streamData(@Valid @RequestBody SearchPostRequestDto req);
+
+    // export every post of an author as NDJSON, newest first
+    @GetMapping(path = "/author/{authorId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<PostResponseDto> exportByAuthor(@PathVariable String authorId);
+}
\ No newline at end of file
@@ -1,98 +1,197 @@
 package com.example.post.controller.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.common.web.APIResponse;
 import com.example.post.controller.PostController;
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.EngagementResultDto;
 import com.example.post.dto.PostCommentDto;
 import com.example.post.dto.PostRequestDto;
 import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.PostShareDto;
 import com.example.post.dto.SearchPostRequestDto;
 import com.example.post.dto.FeedRequestDto;
 import com.example.post.service.PostService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @Slf4j
+@Profile("!reactive")
 public class PostControllerImpl implements PostController {
+    // lines buffered before the stream is flushed to the client
+    private static final int NDJSON_FLUSH_EVERY = 100;
+
     private final PostService postService;
 
-    public PostControllerImpl(PostService postService) {
+    private final ObjectWriter ndjsonWriter;
+
+    public PostControllerImpl(PostService postService, ObjectMapper objectMapper) {
         this.postService = postService;
+        // writeValue would otherwise flush after every line and make NDJSON_FLUSH_EVERY pointless
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
     public APIResponse<PostResponseDto> create(PostRequestDto req) {
-        log.info("create: " + req);
+        log.debug("create: {}", req);
         PostResponseDto dto = postService.create(req);
         return APIResponse.ok(null, dto, null);
     }
 
     @Override
     public APIResponse<HashMap<String, Object>> findData(SearchPostRequestDto req) {
-        log.info("findData: " + req);
+        log.debug("findData: {}", req);
         HashMap<String, Object> dto = postService.findData(req);
         return APIResponse.ok(null, dto, null);
     }
 
     @Override
     public APIResponse<PostResponseDto> getById(String id) {
-        log.info("getById: " + id);
+        log.debug("getById: {}", id);
         PostResponseDto dto = postService.getById(id);
         return APIResponse.ok(null, dto, null);
     }
 
+    @Override
+    public APIResponse<List<PostResponseDto>> batchGet(BatchGetRequestDto req) {
+        log.debug("batchGet: {} ids, userId={}", req.getIds() != null ? req.getIds().size() : 0, req.getUserId());
+        List<PostResponseDto> posts = postService.batchGet(req);
+        return APIResponse.ok(null, posts, null);
+    }
+
     @Override
     public APIResponse<PostResponseDto> update(String id, PostRequestDto req) {
-        log.info("update: " + id + ", " + req);
+        log.debug("update: {}, {}", id, req);
         PostResponseDto dto = postService.update(id, req);
         return APIResponse.ok(null, dto, null);
     }
 
     @Override
     public APIResponse<Void> delete(String id) {
-        log.info("delete: " + id);
+        log.debug("delete: {}", id);
         postService.delete(id);
         return APIResponse.ok(null, null, null);
     }
 
     @Override
     public APIResponse<String> comment(String id, PostCommentDto req) {
-        log.info("comment: " + id + ", " + req);
+        log.debug("comment: {}, {}", id, req);
         String commentId = postService.comment(id, req);
         return APIResponse.ok(null, commentId, null);
     }
 
+    @Override
+    public APIResponse<CursorPageDto<PostCommentDto>> getComments(String id, String cursor, int pageSize) {
+        log.debug("getComments: {}, cursor={}, pageSize={}", id, cursor, pageSize);
+        CursorPageDto<PostCommentDto> comments = postService.getComments(id, cursor, pageSize);
+        return APIResponse.ok(null, comments, null);
+    }
+
     @Override
     public APIResponse<Void> like(String id, String userId) {
-        log.info("like: " + id + " by user: " + userId);
+        log.debug("like: {} by user: {}", id, userId);
         postService.like(id, userId);
         return APIResponse.ok(null, null, null);
     }
 
     @Override
     public APIResponse<Void> unlike(String id, String userId) {
-        log.info("unlike: " + id + " by user: " + userId);
+        log.debug("unlike: {} by user: {}", id, userId);
         postService.unlike(id, userId);
         return APIResponse.ok(null, null, null);
     }
 
     @Override
     public APIResponse<Void> share(String id, String userId, String sharedTo) {
-        log.info("share: " + id + " by user: " + userId + " to: " + sharedTo);
+        log.debug("share: {} by user: {} to: {}", id, userId, sharedTo);
         postService.share(id, userId, sharedTo);
         return APIResponse.ok(null, null, null);
     }
 
     @Override
-    public APIResponse<List<PostResponseDto>> getPersonalizedFeed(FeedRequestDto req) {
-        log.info("getPersonalizedFeed: userId=" + req.getUserId() + ", page=" + req.getPage() + ", pageSize=" + req.getPageSize());
-        List<PostResponseDto> feed = postService.getPersonalizedFeed(req);
+    public APIResponse<List<EngagementResultDto>> applyEngagement(BatchEngagementRequestDto req) {
+        log.debug("applyEngagement: {} ops", req.getOps() != null ? req.getOps().size() : 0);
+        List<EngagementResultDto> results = postService.applyEngagement(req);
+        return APIResponse.ok(null, results, null);
+    }
+
+    @Override
+    public APIResponse<CursorPageDto<PostShareDto>> getShares(String id, String cursor, int pageSize) {
+        log.debug("getShares: {}, cursor={}, pageSize={}", id, cursor, pageSize);
+        CursorPageDto<PostShareDto> shares = postService.getShares(id, cursor, pageSize);
+        return APIResponse.ok(null, shares, null);
+    }
+
+    @Override
+    public APIResponse<CursorPageDto<PostResponseDto>> getPersonalizedFeed(FeedRequestDto req) {
+        log.debug("getPersonalizedFeed: userId={}, page={}, pageSize={}, cursor={}",
+            req.getUserId(), req.getPage(), req.getPageSize(), req.getCursor());
+        CursorPageDto<PostResponseDto> feed = postService.getPersonalizedFeed(req);
         return APIResponse.ok(null, feed, null);
     }
-}
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamPersonalizedFeed(FeedRequestDto req) {
+        log.debug("streamPersonalizedFeed: userId={}", req.getUserId());
+        return ndjson(sink -> postService.streamPersonalizedFeed(req, sink));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamData(SearchPostRequestDto req) {
+        log.debug("streamData: {}", req);
+        return ndjson(sink -> postService.streamData(req, sink));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportByAuthor(String authorId) {
+        log.debug("exportByAuthor: {}", authorId);
+        return ndjson(sink -> postService.exportByAuthor(authorId, sink));
+    }
+
+    // Write each post as one JSON line straight to the response as it is produced.
+    // Blocking writes to a slow client hold back the Mongo cursor, so nothing piles up in memory.
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<PostResponseDto>> producer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = ndjsonWriter.createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null);
+                int[] written = {0};
+                producer.accept(post -> {
+                    try {
+                        ndjsonWriter.writeValue(json, post);
+                        json.writeRaw('\n');
+                        if (++written[0] % NDJSON_FLUSH_EVERY == 0) {
+                            json.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.post.controller.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.common.web.APIResponse;
+import com.example.post.controller.ReactivePostController;
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.EngagementResultDto;
+import com.example.post.dto.FeedRequestDto;
+import com.example.post.dto.PostCommentDto;
+import com.example.post.dto.PostRequestDto;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.PostShareDto;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.service.PostService;
+import com.example.post.service.ReactivePostService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Reads run on the event loop through the reactive repositories. Writes keep going through the
+// blocking PostService, off the event loop on the bounded elastic scheduler, so both stacks share
+// one write path (counter buffer, cache invalidation, fan-out).
+@RestController
+@Slf4j
+@Profile("reactive")
+public class ReactivePostControllerImpl implements ReactivePostController {
+    private final ReactivePostService reactivePostService;
+    private final PostService postService;
+
+    public ReactivePostControllerImpl(ReactivePostService reactivePostService, PostService postService) {
+        this.reactivePostService = reactivePostService;
+        this.postService = postService;
+    }
+
+    @Override
+    public Mono<APIResponse<PostResponseDto>> create(PostRequestDto req) {
+        log.debug("create: {}", req);
+        return blocking(() -> postService.create(req));
+    }
+
+    @Override
+    public Mono<APIResponse<HashMap<String, Object>>> findData(SearchPostRequestDto req) {
+        log.debug("findData: {}", req);
+        return reactivePostService.findData(req)
+            .map(dto -> APIResponse.ok(null, dto, null));
+    }
+
+    @Override
+    public Mono<APIResponse<PostResponseDto>> getById(String id) {
+        log.debug("getById: {}", id);
+        return reactivePostService.getById(id)
+            .map(dto -> APIResponse.ok(null, dto, null))
+            .defaultIfEmpty(APIResponse.ok(null, null, null));
+    }
+
+    @Override
+    public Mono<APIResponse<List<PostResponseDto>>> batchGet(BatchGetRequestDto req) {
+        log.debug("batchGet: {} ids, userId={}", req.getIds() != null ? req.getIds().size() : 0, req.getUserId());
+        return blocking(() -> postService.batchGet(req));
+    }
+
+    @Override
+    public Mono<APIResponse<PostResponseDto>> update(String id, PostRequestDto req) {
+        log.debug("update: {}, {}", id, req);
+        return blocking(() -> postService.update(id, req));
+    }
+
+    @Override
+    public Mono<APIResponse<Void>> delete(String id) {
+        log.debug("delete: {}", id);
+        return blocking(() -> postService.delete(id));
+    }
+
+    @Override
+    public Mono<APIResponse<Void>> like(String id, String userId) {
+        log.debug("like: {} by user: {}", id, userId);
+        return blocking(() -> postService.like(id, userId));
+    }
+
+    @Override
+    public Mono<APIResponse<Void>> unlike(String id, String userId) {
+        log.debug("unlike: {} by user: {}", id, userId);
+        return blocking(() -> postService.unlike(id, userId));
+    }
+
+    @Override
+    public Mono<APIResponse<String>> comment(String id, PostCommentDto req) {
+        log.debug("comment: {}, {}", id, req);
+        return blocking(() -> postService.comment(id, req));
+    }
+
+    @Override
+    public Mono<APIResponse<CursorPageDto<PostCommentDto>>> getComments(String id, String cursor, int pageSize) {
+        log.debug("getComments: {}, cursor={}, pageSize={}", id, cursor, pageSize);
+        return blocking(() -> postService.getComments(id, cursor, pageSize));
+    }
+
+    @Override
+    public Mono<APIResponse<Void>> share(String id, String userId, String sharedTo) {
+        log.debug("share: {} by user: {} to: {}", id, userId, sharedTo);
+        return blocking(() -> postService.share(id, userId, sharedTo));
+    }
+
+    @Override
+    public Mono<APIResponse<List<EngagementResultDto>>> applyEngagement(BatchEngagementRequestDto req) {
+        log.debug("applyEngagement: {} ops", req.getOps() != null ? req.getOps().size() : 0);
+        return blocking(() -> postService.applyEngagement(req));
+    }
+
+    @Override
+    public Mono<APIResponse<CursorPageDto<PostShareDto>>> getShares(String id, String cursor, int pageSize) {
+        log.debug("getShares: {}, cursor={}, pageSize={}", id, cursor, pageSize);
+        return blocking(() -> postService.getShares(id, cursor, pageSize));
+    }
+
+    @Override
+    public Mono<APIResponse<CursorPageDto<PostResponseDto>>> getPersonalizedFeed(FeedRequestDto req) {
+        log.debug("getPersonalizedFeed: userId={}, page={}, pageSize={}, cursor={}",
+            req.getUserId(), req.getPage(), req.getPageSize(), req.getCursor());
+        return reactivePostService.getPersonalizedFeed(req)
+            .map(feed -> APIResponse.ok(null, feed, null));
+    }
+
+    @Override
+    public Flux<PostResponseDto> streamPersonalizedFeed(FeedRequestDto req) {
+        log.debug("streamPersonalizedFeed: userId={}", req.getUserId());
+        return reactivePostService.streamPersonalizedFeed(req);
+    }
+
+    @Override
+    public Flux<PostResponseDto> streamData(SearchPostRequestDto req) {
+        log.debug("streamData: {}", req);
+        return reactivePostService.streamData(req);
+    }
+
+    @Override
+    public Flux<PostResponseDto> exportByAuthor(String authorId) {
+        log.debug("exportByAuthor: {}", authorId);
+        return reactivePostService.exportByAuthor(authorId);
+    }
+
+    private static <T> Mono<APIResponse<T>> blocking(Callable<T> call) {
+        return Mono.fromCallable(call)
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(dto -> APIResponse.ok(null, dto, null))
+            .defaultIfEmpty(APIResponse.ok(null, null, null));
+    }
+
+    private static Mono<APIResponse<Void>> blocking(Runnable call) {
+        return Mono.fromRunnable(call)
+            .subscribeOn(Schedulers.boundedElastic())
+            .then(Mono.just(APIResponse.ok(null, null, null)));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.post.counter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.post.cache.PostCache;
+import com.example.post.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-coalescing buffer for like and share counters. Increments are accumulated in memory and
+ * flushed to Mongo periodically as one unordered bulk of $inc updates, so a hot post costs one
+ * write per flush interval instead of one per increment. Only the posts whose update failed are
+ * kept for the next flush.
+ *
+ * <p>Posts are spread over lock stripes. Writers and {@link #pending} share a stripe's read lock,
+ * the flusher takes the write lock to swap the stripe's map out, and again after the bulk to drop
+ * the flushed deltas together with the cached posts, so a read never counts a delta twice.
+ */
+@Component
+@Slf4j
+public class EngagementCounterBuffer {
+    private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final boolean enabled;
+    private final Stripe[] stripes;
+
+    public EngagementCounterBuffer(PostRepository postRepository,
+                                   PostCache postCache,
+                                   @Value("${app.engagement.buffer.enabled:false}") boolean enabled,
+                                   @Value("${app.engagement.buffer.stripes:16}") int stripes) {
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.enabled = enabled;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void addLikes(String postId, long delta) {
+        Stripe stripe = stripeFor(postId);
+        stripe.lock.readLock().lock();
+        try {
+            stripe.pending.computeIfAbsent(postId, k -> new Counts()).likes.add(delta);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    public void addShares(String postId, long delta) {
+        Stripe stripe = stripeFor(postId);
+        stripe.lock.readLock().lock();
+        try {
+            stripe.pending.computeIfAbsent(postId, k -> new Counts()).shares.add(delta);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    // Deltas not yet visible in Mongo, including the ones of a flush in progress
+    public Delta pending(String postId) {
+        if (!enabled) {
+            return Delta.NONE;
+        }
+        Stripe stripe = stripeFor(postId);
+        long likes = 0;
+        long shares = 0;
+        stripe.lock.readLock().lock();
+        try {
+            Counts counts = stripe.pending.get(postId);
+            if (counts != null) {
+                likes += counts.likes.sum();
+                shares += counts.shares.sum();
+            }
+            Counts flushing = stripe.flushing.get(postId);
+            if (flushing != null) {
+                likes += flushing.likes.sum();
+                shares += flushing.shares.sum();
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+        return likes == 0 && shares == 0 ? Delta.NONE : new Delta(likes, shares);
+    }
+
+    @Scheduled(fixedDelayString = "${app.engagement.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            flush(stripe);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Stripe stripe) {
+        Map<String, Counts> drained;
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.pending.isEmpty()) {
+                return;
+            }
+            drained = stripe.pending;
+            stripe.flushing = drained;
+            stripe.pending = new ConcurrentHashMap<>();
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+
+        // no writer can reach the drained map anymore, its sums are final
+        Map<String, Delta> deltas = new HashMap<>();
+        drained.forEach((postId, counts) -> {
+            long likes = counts.likes.sum();
+            long shares = counts.shares.sum();
+            if (likes != 0 || shares != 0) {
+                deltas.put(postId, new Delta(likes, shares));
+            }
+        });
+        if (deltas.isEmpty()) {
+            finish(stripe, Map.of(), Set.of());
+            return;
+        }
+
+        Set<String> failed;
+        try {
+            failed = postRepository.incrementCounters(deltas);
+            if (!failed.isEmpty()) {
+                log.warn("Failed to flush engagement counters of {} of {} posts, retrying next interval",
+                    failed.size(), deltas.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush engagement counters of {} posts, retrying next interval", deltas.size(), e);
+            failed = deltas.keySet();
+        }
+        finish(stripe, deltas, failed);
+    }
+
+    // Under the write lock, so no read sees an applied delta both in flushing and in a reloaded post,
+    // or a failed one both in flushing and back in pending
+    private void finish(Stripe stripe, Map<String, Delta> deltas, Set<String> failed) {
+        stripe.lock.writeLock().lock();
+        try {
+            // keep the failed increments for the next flush instead of losing them; the others were
+            // applied and must not be counted twice
+            List<String> applied = new ArrayList<>(deltas.size() - failed.size());
+            for (Map.Entry<String, Delta> entry : deltas.entrySet()) {
+                if (failed.contains(entry.getKey())) {
+                    Counts counts = stripe.pending.computeIfAbsent(entry.getKey(), k -> new Counts());
+                    counts.likes.add(entry.getValue().likes());
+                    counts.shares.add(entry.getValue().shares());
+                } else {
+                    applied.add(entry.getKey());
+                }
+            }
+            // cached copies hold the old counters and would hide these deltas once they leave the buffer
+            postCache.invalidateAll(applied);
+        } finally {
+            stripe.flushing = Map.of();
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripeFor(String postId) {
+        return stripes[Math.floorMod(postId.hashCode(), stripes.length)];
+    }
+
+    public record Delta(long likes, long shares) {
+        public static final Delta NONE = new Delta(0, 0);
+
+        public Delta plus(Delta other) {
+            return other == NONE ? this : this == NONE ? other : new Delta(likes + other.likes, shares + other.shares);
+        }
+    }
+
+    private static class Counts {
+        final LongAdder likes = new LongAdder();
+        final LongAdder shares = new LongAdder();
+    }
+
+    private static class Stripe {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile Map<String, Counts> pending = new ConcurrentHashMap<>();
+        volatile Map<String, Counts> flushing = Map.of();
+    }
+}
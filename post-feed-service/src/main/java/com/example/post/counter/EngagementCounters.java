@@ -0,0 +1,95 @@
+package com.example.post.counter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.example.post.cache.PostCache;
+import com.example.post.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entry point for like and share counter updates. Applies them to the post right away, through
+ * {@link EngagementCounterBuffer} when write coalescing is enabled, or to the shards of a hot post
+ * through {@link ShardedCounters}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EngagementCounters {
+    private final PostRepository postRepository;
+    private final EngagementCounterBuffer buffer;
+    private final PostCache postCache;
+    private final ShardedCounters shards;
+
+    // returns false when the post does not exist
+    public boolean incrementLikes(String postId, int delta) {
+        if (buffer.isEnabled()) {
+            buffer.addLikes(postId, delta);
+            return true;
+        }
+        if (shards.record(postId)) {
+            shards.add(postId, delta, 0);
+            return true;
+        }
+        return invalidateIfChanged(postId, postRepository.incrementLikes(postId, delta));
+    }
+
+    // returns false when the post does not exist
+    public boolean incrementShares(String postId) {
+        if (buffer.isEnabled()) {
+            if (!postRepository.existsById(postId)) {
+                return false;
+            }
+            buffer.addShares(postId, 1);
+            return true;
+        }
+        if (shards.record(postId)) {
+            // reads do not contend on the document lock, only the $inc does
+            if (!postRepository.existsById(postId)) {
+                return false;
+            }
+            shards.add(postId, 0, 1);
+            return true;
+        }
+        return invalidateIfChanged(postId, postRepository.incrementShares(postId));
+    }
+
+    // like and share deltas of many posts, stored with one bulk write; the posts must exist
+    public void incrementAll(Map<String, EngagementCounterBuffer.Delta> deltas) {
+        if (buffer.isEnabled()) {
+            deltas.forEach((postId, delta) -> {
+                buffer.addLikes(postId, delta.likes());
+                buffer.addShares(postId, delta.shares());
+            });
+            return;
+        }
+        Map<String, EngagementCounterBuffer.Delta> direct = new HashMap<>();
+        deltas.forEach((postId, delta) -> {
+            if (shards.record(postId)) {
+                shards.add(postId, delta.likes(), delta.shares());
+            } else {
+                direct.put(postId, delta);
+            }
+        });
+        Set<String> failed = postRepository.incrementCounters(direct);
+        postCache.invalidateAll(direct.keySet());
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Failed to update the counters of posts " + failed);
+        }
+    }
+
+    // increments accepted but not yet stored on the post, to be added to its counters on read
+    public EngagementCounterBuffer.Delta pending(String postId) {
+        return buffer.pending(postId).plus(shards.pending(postId));
+    }
+
+    private boolean invalidateIfChanged(String postId, boolean changed) {
+        if (changed) {
+            postCache.invalidate(postId);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.post.counter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.post.cache.PostCache;
+import com.example.post.repository.PostCounterShardRepository;
+import com.example.post.repository.PostRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spreads the like and share counters of hot posts over shard documents. Every $inc on a post
+ * takes that document's lock, so a viral post serializes all its engagement writes; once a post is
+ * written more than threshold-per-second times, its increments go to one of {@code count} shards
+ * picked at random instead, and write throughput grows with the number of shards.
+ *
+ * <p>Reads add the shard sums of the posts this instance sharded. The sums are kept in memory and
+ * refreshed with one aggregation every detection interval, so reads never wait on Mongo. Shards
+ * are folded back into their post every fold interval, which also keeps engagementScore and
+ * hotScore moving, and a post whose write rate stayed below the threshold for the cool-down goes
+ * back to plain updates.
+ */
+@Component
+@Slf4j
+public class ShardedCounters {
+    private final PostCounterShardRepository shardRepository;
+    private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final boolean enabled;
+    private final int shardCount;
+    private final long threshold;
+    private final long coolDownNanos;
+
+    // writes per post since the last detection
+    private volatile Map<String, LongAdder> writes = new ConcurrentHashMap<>();
+    private volatile long windowStart = System.nanoTime();
+    // hot posts by the last time their rate crossed the threshold
+    private final Map<String, Long> hot = new ConcurrentHashMap<>();
+    // posts that may have shards, hot or waiting for their last fold
+    private final Set<String> sharded = ConcurrentHashMap.newKeySet();
+    // shard sums of the sharded posts as of the last refresh
+    private final Map<String, EngagementCounterBuffer.Delta> sums = new ConcurrentHashMap<>();
+
+    public ShardedCounters(PostCounterShardRepository shardRepository,
+                           PostRepository postRepository,
+                           PostCache postCache,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.engagement.shards.enabled:false}") boolean enabled,
+                           @Value("${app.engagement.shards.count:8}") int shardCount,
+                           @Value("${app.engagement.shards.threshold-per-second:50}") long threshold,
+                           @Value("${app.engagement.shards.cool-down-seconds:60}") long coolDownSeconds) {
+        this.shardRepository = shardRepository;
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.threshold = threshold;
+        this.coolDownNanos = coolDownSeconds * 1_000_000_000L;
+
+        Gauge.builder("post.counter.hot", hot, Map::size)
+            .description("Posts whose counters are currently sharded")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // counts a write of the post and tells whether it should go to a shard
+    public boolean record(String postId) {
+        if (!enabled) {
+            return false;
+        }
+        writes.computeIfAbsent(postId, k -> new LongAdder()).increment();
+        return hot.containsKey(postId);
+    }
+
+    public void add(String postId, long likes, long shares) {
+        sharded.add(postId);
+        shardRepository.increment(postId, ThreadLocalRandom.current().nextInt(shardCount), likes, shares);
+    }
+
+    // shard sums of the post as of the last refresh, never reads Mongo
+    public EngagementCounterBuffer.Delta pending(String postId) {
+        if (!enabled) {
+            return EngagementCounterBuffer.Delta.NONE;
+        }
+        return sums.getOrDefault(postId, EngagementCounterBuffer.Delta.NONE);
+    }
+
+    @Scheduled(fixedRateString = "${app.engagement.shards.detect-interval-ms:1000}")
+    public void detect() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        double seconds = Math.max(now - windowStart, 1) / 1e9;
+        Map<String, LongAdder> counted = writes;
+        writes = new ConcurrentHashMap<>();
+        windowStart = now;
+
+        counted.forEach((postId, count) -> {
+            if (count.sum() / seconds >= threshold) {
+                if (hot.put(postId, now) == null) {
+                    log.info("Sharding counters of hot post {} at {} writes/s", postId, Math.round(count.sum() / seconds));
+                }
+            }
+        });
+        hot.entrySet().removeIf(entry -> {
+            boolean cooled = now - entry.getValue() > coolDownNanos;
+            if (cooled) {
+                log.info("Counters of post {} cooled down, back to single document updates", entry.getKey());
+            }
+            return cooled;
+        });
+        refreshSums();
+    }
+
+    // one aggregation for all sharded posts instead of one per post read
+    private void refreshSums() {
+        if (sharded.isEmpty()) {
+            sums.clear();
+            return;
+        }
+        Map<String, EngagementCounterBuffer.Delta> current;
+        try {
+            current = shardRepository.sumByPostIds(Set.copyOf(sharded));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh counter shard sums, keeping the previous ones", e);
+            return;
+        }
+        sums.keySet().retainAll(current.keySet());
+        sums.putAll(current);
+    }
+
+    // Fold every shard back into its post, including shards left by a restart or another instance
+    @Scheduled(fixedDelayString = "${app.engagement.shards.fold-interval-ms:5000}")
+    public void fold() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> postIds = shardRepository.findPostIds();
+        postIds.addAll(sharded);
+        for (String postId : postIds) {
+            fold(postId);
+        }
+    }
+
+    @PreDestroy
+    public void foldOnShutdown() {
+        fold();
+    }
+
+    private void fold(String postId) {
+        EngagementCounterBuffer.Delta drained = shardRepository.drain(postId);
+        if (drained != EngagementCounterBuffer.Delta.NONE) {
+            boolean folded;
+            try {
+                folded = postRepository.incrementCounters(Map.of(postId, drained)).isEmpty();
+                if (!folded) {
+                    log.warn("Failed to fold counter shards of post {}, retrying next interval", postId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to fold counter shards of post {}, retrying next interval", postId, e);
+                folded = false;
+            }
+            if (!folded) {
+                // put the drained counts back into a shard for the next fold instead of losing them
+                add(postId, drained.likes(), drained.shares());
+                return;
+            }
+        } else if (!hot.containsKey(postId)) {
+            // cooled and nothing left since the previous fold, reads can skip the shards again
+            sharded.remove(postId);
+        }
+        // the cached post and shard sum both predate the fold, drop them together
+        postCache.invalidate(postId);
+        sums.remove(postId);
+    }
+}
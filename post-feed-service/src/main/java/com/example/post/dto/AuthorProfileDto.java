@@ -0,0 +1,17 @@
+package com.example.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Profile of a post author as returned by auth-user-service
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorProfileDto {
+    private Long id;
+    private String username;
+    private String avatarUrl;
+}
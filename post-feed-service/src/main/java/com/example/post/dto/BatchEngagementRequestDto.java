@@ -0,0 +1,16 @@
+package com.example.post.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchEngagementRequestDto {
+    private List<EngagementOpDto> ops; // results come back in the same order
+}
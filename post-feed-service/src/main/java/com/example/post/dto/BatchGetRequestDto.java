@@ -0,0 +1,17 @@
+package com.example.post.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetRequestDto {
+    private List<String> ids; // posts are returned in this order, unknown ids are left out
+    private String userId; // optional, resolves likedByCurrentUser
+}
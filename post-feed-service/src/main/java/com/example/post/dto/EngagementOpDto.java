@@ -0,0 +1,21 @@
+package com.example.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementOpDto {
+    private Type type;
+    private String postId;
+    private String userId;
+    private String sharedTo; // SHARE only
+
+    public enum Type {
+        LIKE, UNLIKE, SHARE
+    }
+}
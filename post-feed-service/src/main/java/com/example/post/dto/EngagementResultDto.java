@@ -0,0 +1,24 @@
+package com.example.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementResultDto {
+    private EngagementOpDto.Type type;
+    private String postId;
+    private String userId;
+    private Status status;
+
+    public enum Status {
+        APPLIED, // the like, unlike or share took effect
+        UNCHANGED, // already liked, or not liked when unliking
+        NOT_FOUND, // no such post
+        INVALID // missing type, postId, userId or sharedTo
+    }
+}
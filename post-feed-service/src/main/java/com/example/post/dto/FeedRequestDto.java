@@ -13,4 +13,5 @@ public class FeedRequestDto {
     private String userId;
     private int page;
     private int pageSize;
+    private String cursor; // nextCursor of the previous page, takes precedence over page
 }
@@ -0,0 +1,51 @@
+package com.example.post.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keyset position of the last item of a page: (score, createdAt, id).
+ * Clients only see it as an opaque url-safe token.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+    // score desc, createdAt desc (missing dates last), id desc
+    public static final Comparator<PageCursor> RANKING = Comparator
+            .comparingDouble(PageCursor::getScore).reversed()
+            .thenComparing(PageCursor::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(PageCursor::getId, Comparator.reverseOrder());
+
+    private double score;
+    private Instant createdAt;
+    private String id;
+
+    public String encode() {
+        String raw = score + "|" + (createdAt != null ? createdAt.toEpochMilli() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            Instant createdAt = parts[1].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(parts[1]));
+            return new PageCursor(Double.parseDouble(parts[0]), createdAt, parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    // true when this position is ranked strictly before the given one
+    public boolean isBefore(PageCursor other) {
+        return RANKING.compare(this, other) < 0;
+    }
+}
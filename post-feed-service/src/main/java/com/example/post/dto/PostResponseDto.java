@@ -15,11 +15,13 @@ import java.util.List;
 public class PostResponseDto {
     private String id;
     private String authorId;
-    private String authorName;
+    private String authorName; // current username of the author when the profile lookup succeeds
+    private String authorAvatarUrl;
     private String caption;
     private List<String> mediaUrls;
     private int likes;
-    private List<PostCommentDto> comments;
+    private int commentCount;
+    private List<PostCommentDto> comments; // latest comments only, page the rest through /{id}/comments
     private int shareCount;
     private Instant createdAt;
     private Instant updatedAt;
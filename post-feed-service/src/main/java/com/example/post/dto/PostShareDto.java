@@ -0,0 +1,18 @@
+package com.example.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostShareDto {
+    private String userId;
+    private String sharedTo;
+    private Instant sharedAt;
+}
@@ -12,9 +12,11 @@ import lombok.NoArgsConstructor;
 public class SearchPostRequestDto {
     private Long id;
     private Long authorId;
-    private String caption;
-    private String[] mediaUrls;
-    private int likes;
+    private String caption; // full text, matched together with authorName
+    private String[] mediaUrls; // posts with any of these media
+    private int likes; // minimum likes
     private String[] comments;
     private String authorName;
+    private int pageSize;
+    private String cursor;
 }
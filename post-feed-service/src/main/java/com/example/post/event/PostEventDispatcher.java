@@ -0,0 +1,101 @@
+package com.example.post.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.post.model.PostEvent;
+import com.example.post.repository.PostEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the post_events outbox to the {@link PostEventSubscriber} beans. Each subscriber reads
+ * from its own stored offset in batches of batch-size events, at most max-batches per run, so a
+ * slow or failing subscriber only holds back itself while the backlog waits in Mongo.
+ *
+ * <p>Event ids are taken by the appending instance just before the insert, so for a moment a
+ * later event can be visible before an earlier one. Delivery therefore only reads events whose id
+ * second is older than the gap timeout; an insert still in flight after that long, or a clock more
+ * than that far behind the others, can be skipped.
+ */
+@Component
+@Slf4j
+public class PostEventDispatcher {
+    private final PostEventRepository postEventRepository;
+    private final List<PostEventSubscriber> subscribers;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration gapTimeout;
+    private final Map<String, ObjectId> offsets = new ConcurrentHashMap<>();
+
+    public PostEventDispatcher(PostEventRepository postEventRepository,
+                               List<PostEventSubscriber> subscribers,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.events.batch-size:500}") int batchSize,
+                               @Value("${app.events.max-batches:20}") int maxBatches,
+                               @Value("${app.events.gap-timeout-ms:2000}") long gapTimeoutMs) {
+        this.postEventRepository = postEventRepository;
+        this.subscribers = subscribers;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.gapTimeout = Duration.ofMillis(gapTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.poll-interval-ms:100}")
+    public void dispatch() {
+        for (PostEventSubscriber subscriber : subscribers) {
+            dispatch(subscriber);
+        }
+    }
+
+    private void dispatch(PostEventSubscriber subscriber) {
+        ObjectId offset = offsets.computeIfAbsent(subscriber.name(), postEventRepository::findOffset);
+        ObjectId settled = settled();
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<PostEvent> events = postEventRepository.findBetween(offset, settled, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+            try {
+                subscriber.onEvents(events);
+            } catch (RuntimeException e) {
+                // the offset stays, the same events are delivered again on the next run
+                log.warn("Subscriber {} failed on post events {}..{}, retrying next run", subscriber.name(),
+                    events.get(0).getId(), events.get(events.size() - 1).getId(), e);
+                counter("post.events.failed", subscriber).increment(events.size());
+                return;
+            }
+            offset = events.get(events.size() - 1).getId();
+            offsets.put(subscriber.name(), offset);
+            postEventRepository.saveOffset(subscriber.name(), offset);
+            counter("post.events.delivered", subscriber).increment(events.size());
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // lowest id of the second the gap timeout reaches back to, every event below it has settled
+    private ObjectId settled() {
+        long seconds = Instant.now().minus(gapTimeout).getEpochSecond();
+        return new ObjectId(String.format("%08x%016x", seconds, 0));
+    }
+
+    private Counter counter(String name, PostEventSubscriber subscriber) {
+        return Counter.builder(name)
+            .tag("subscriber", subscriber.name())
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.post.event;
+
+import java.util.List;
+
+import com.example.post.model.PostEvent;
+
+/**
+ * In-process consumer of the post event stream. Every subscriber bean gets each event in id order,
+ * in batches, from its own offset. Delivery is at least once: a batch that throws is
+ * delivered again, so handling an event twice must leave the same result.
+ */
+public interface PostEventSubscriber {
+    // unique and stable, it keys the stored offset
+    String name();
+
+    void onEvents(List<PostEvent> events);
+}
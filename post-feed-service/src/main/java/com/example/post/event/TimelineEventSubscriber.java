@@ -0,0 +1,37 @@
+package com.example.post.event;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.example.post.model.PostEvent;
+import com.example.post.service.TimelineService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the materialized timelines in step with the posts: new posts are fanned out, deleted ones
+ * are pulled again.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimelineEventSubscriber implements PostEventSubscriber {
+    private final TimelineService timelineService;
+
+    @Override
+    public String name() {
+        return "timeline";
+    }
+
+    @Override
+    public void onEvents(List<PostEvent> events) {
+        for (PostEvent event : events) {
+            switch (event.getType()) {
+                case POST_CREATED -> timelineService.fanOut(event.getPostId());
+                case POST_DELETED -> timelineService.remove(event.getPostId());
+                default -> {
+                }
+            }
+        }
+    }
+}
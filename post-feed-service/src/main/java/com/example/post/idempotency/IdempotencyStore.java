@@ -0,0 +1,70 @@
+package com.example.post.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.post.dto.PostResponseDto;
+import com.example.post.model.PostRequest;
+import com.example.post.repository.PostRequestRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Responses of completed create requests by requestId. Recent ones are answered from a bounded
+ * in-memory cache, all of them from the TTL-indexed post_requests collection, whose _id keeps
+ * each requestId unique across instances.
+ */
+@Component
+public class IdempotencyStore {
+    private final PostRequestRepository postRequestRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, PostResponseDto> recent;
+
+    public IdempotencyStore(PostRequestRepository postRequestRepository,
+                            MongoTemplate mongoTemplate,
+                            @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.postRequestRepository = postRequestRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(PostRequest.TTL)
+            .build();
+    }
+
+    // the response of a completed request, if any
+    public Optional<PostResponseDto> find(String requestId) {
+        PostResponseDto cached = recent.getIfPresent(requestId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<PostResponseDto> stored = postRequestRepository.findById(requestId)
+            .map(PostRequest::getResponse);
+        stored.ifPresent(response -> recent.put(requestId, response));
+        return stored;
+    }
+
+    // Record the request atomically and return it. The first attempt fixes the post id; retries and
+    // concurrent duplicates get the same post id back, so they can only ever create that one post.
+    public PostRequest claim(String requestId, String postId) {
+        Query query = new Query(Criteria.where("_id").is(requestId));
+        Update update = new Update()
+            .setOnInsert("postId", postId)
+            .setOnInsert("createdAt", Instant.now());
+        return mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().upsert(true).returnNew(true), PostRequest.class);
+    }
+
+    public void complete(String requestId, PostResponseDto response) {
+        Query query = new Query(Criteria.where("_id").is(requestId));
+        mongoTemplate.updateFirst(query, new Update().set("response", response), PostRequest.class);
+        recent.put(requestId, response);
+    }
+}
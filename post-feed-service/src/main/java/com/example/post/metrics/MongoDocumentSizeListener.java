@@ -0,0 +1,73 @@
+package com.example.post.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the BSON size of every document returned by find, aggregate and getMore, tagged by
+ * collection. The driver hands listeners the raw reply, so sizes are read off the reply buffer
+ * without decoding or re-encoding anything. Command latency itself is recorded by Spring Boot's
+ * MongoMetricsCommandListener as mongodb.driver.commands.
+ */
+public class MongoDocumentSizeListener implements CommandListener {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> sizes = new ConcurrentHashMap<>();
+
+    public MongoDocumentSizeListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        switch (event.getCommandName()) {
+            case "find", "aggregate", "getMore" -> record(event.getResponse());
+            default -> {
+            }
+        }
+    }
+
+    private void record(BsonDocument reply) {
+        BsonValue cursor = reply.get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return;
+        }
+        BsonDocument c = cursor.asDocument();
+        BsonValue batch = c.containsKey("firstBatch") ? c.get("firstBatch") : c.get("nextBatch");
+        if (batch == null || !batch.isArray()) {
+            return;
+        }
+        DistributionSummary summary = sizes.computeIfAbsent(collection(c), name ->
+            DistributionSummary.builder("post.mongo.document.size")
+                .tag("collection", name)
+                .baseUnit("bytes")
+                .description("Size of documents returned by find, aggregate and getMore")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        for (BsonValue document : (BsonArray) batch) {
+            if (document instanceof RawBsonDocument raw) {
+                summary.record(raw.getByteBuffer().remaining());
+            }
+        }
+    }
+
+    // the cursor namespace is "database.collection"
+    private static String collection(BsonDocument cursor) {
+        BsonValue ns = cursor.get("ns");
+        if (ns == null || !ns.isString()) {
+            return "unknown";
+        }
+        String namespace = ns.asString().getValue();
+        return namespace.substring(namespace.indexOf('.') + 1);
+    }
+}
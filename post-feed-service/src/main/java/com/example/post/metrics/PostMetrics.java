@@ -0,0 +1,59 @@
+package com.example.post.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.example.post.model.PostSummary;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the post read path: time spent in each stage of the feed pipeline, and the like and
+ * comment counts of posts fetched from Mongo (cache misses), as histograms.
+ */
+@Component
+public class PostMetrics {
+    // feed pipeline stages, in order
+    public static final String FETCH = "fetch";
+    public static final String RANK = "rank";
+    public static final String HYDRATE = "hydrate";
+    public static final String LIKES = "likes";
+    public static final String MAP = "map";
+    public static final String PROFILES = "profiles";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stages = new ConcurrentHashMap<>();
+    private final DistributionSummary likes;
+    private final DistributionSummary comments;
+
+    public PostMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.likes = DistributionSummary.builder("post.fetched.likes")
+            .description("Like count of posts read from Mongo")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.comments = DistributionSummary.builder("post.fetched.comments")
+            .description("Comment count of posts read from Mongo")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public <T> T stage(String stage, Supplier<T> step) {
+        return stages.computeIfAbsent(stage, s -> Timer.builder("post.feed.stage")
+                .tag("stage", s)
+                .description("Time spent in one stage of the personalized feed pipeline")
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+            .record(step);
+    }
+
+    public void fetched(PostSummary post) {
+        likes.record(post.getLikes());
+        comments.record(post.getCommentCount());
+    }
+}
@@ -2,15 +2,26 @@ package com.example.post.model;
 
 import lombok.*;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import com.example.common.model.Auditable;
 
+/**
+ * Stored one document per comment, the latest few are also embedded in {@link Post#getRecentComments()}.
+ */
+@Document(collection = "post_comments")
+@CompoundIndex(name = "postId_createdAt_id", def = "{'postId': 1, 'createdAt': -1, '_id': -1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(callSuper = false)
 public class Comment extends Auditable {
+    @Id
     private String id;
+    private String postId;
     private String userId;
     private String text;
 }
@@ -3,6 +3,10 @@ package com.example.post.model;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.example.common.model.Auditable;
@@ -14,6 +18,12 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Document(collection = "posts")
+@CompoundIndexes({
+    @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "engagementScore_createdAt_id", def = "{'engagementScore': -1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "hotScore_createdAt_id", def = "{'hotScore': -1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "authorId_createdAt_id", def = "{'authorId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,12 +33,17 @@ public class Post extends Auditable {
     @Id
     private String id;
     private String authorId;
+    @TextIndexed(weight = 2)
     private String authorName;
+    @TextIndexed
     private String caption;
     private List<String> mediaUrls;
-    private List<String> likedByUserIds; // track who liked the post
-    private int likes;
-    private List<Comment> comments;
-    private List<Share> shares; // track shares
-    private int shareCount;
+    private int likes; // likers are tracked in post_likes
+    private int commentCount; // comments are stored in post_comments
+    private List<Comment> recentComments; // latest few comments, newest first
+    private int shareCount; // shares are logged in post_shares
+    private int engagementScore; // likes + commentCount + shareCount, kept in sync by atomic $inc updates
+    private double hotScore; // time-decayed rank of the feed, see HotScore
+    @Indexed(sparse = true)
+    private Boolean hotScoreStale; // set by engagement updates, cleared when hotScore is refreshed
 }
@@ -0,0 +1,32 @@
+package com.example.post.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slice of the like and share counters of a hot post. Summed with the post's own counters on
+ * read and folded back into the post by ShardedCounters.
+ */
+@Document(collection = "post_counter_shards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCounterShard {
+    @Id
+    private String id; // postId:shard
+    @Indexed
+    private String postId;
+    private long likes; // may go negative on its own, only the sum with the post is meaningful
+    private long shares;
+
+    public static String id(String postId, int shard) {
+        return postId + ":" + shard;
+    }
+}
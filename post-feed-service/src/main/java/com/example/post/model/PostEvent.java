@@ -0,0 +1,46 @@
+package com.example.post.model;
+
+import java.time.Instant;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change to a post recorded in the post_events outbox. Events are ordered by their ObjectId, which
+ * starts with the second they were appended, so subscribers can track how far they got with a
+ * single offset. Expires after 7 days.
+ */
+@Document(collection = "post_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostEvent {
+    public enum Type { POST_CREATED, POST_UPDATED, POST_DELETED, LIKED, UNLIKED, COMMENTED, SHARED }
+
+    @Id
+    private ObjectId id; // set by PostEventRepository.append
+    private Type type;
+    private String postId;
+    private String userId; // author of a created or updated post, actor of the engagement events
+    private String commentId; // only on COMMENTED
+    private String sharedTo; // only on SHARED
+    @Indexed(name = "createdAt_ttl", expireAfter = "7d")
+    private Instant createdAt;
+
+    public static PostEvent of(Type type, String postId, String userId) {
+        return PostEvent.builder()
+            .type(type)
+            .postId(postId)
+            .userId(userId)
+            .createdAt(Instant.now())
+            .build();
+    }
+}
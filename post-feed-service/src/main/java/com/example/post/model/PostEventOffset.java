@@ -0,0 +1,27 @@
+package com.example.post.model;
+
+import java.time.Instant;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Id of the last post event a subscriber has handled.
+ */
+@Document(collection = "post_event_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostEventOffset {
+    @Id
+    private String subscriber;
+    private ObjectId eventId;
+    private Instant updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.post.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Document(collection = "post_likes")
+@CompoundIndexes({
+    @CompoundIndex(name = "postId_userId", def = "{'postId': 1, 'userId': 1}", unique = true),
+    // covers "which of these posts did the user like" lookups
+    @CompoundIndex(name = "userId_postId", def = "{'userId': 1, 'postId': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostLike {
+    @Id
+    private String id;
+    private String postId;
+    private String userId;
+    private Instant createdAt;
+}
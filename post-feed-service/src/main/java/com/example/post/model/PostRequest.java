@@ -0,0 +1,36 @@
+package com.example.post.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.example.post.dto.PostResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Create request seen by the service, keyed by the client's requestId so a retried create returns
+ * the original post instead of writing a new one. Expires after {@link #TTL}.
+ */
+@Document(collection = "post_requests")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostRequest {
+    // how long a requestId is remembered, clients stop retrying long before
+    public static final Duration TTL = Duration.ofDays(1);
+
+    @Id
+    private String requestId;
+    private String postId; // id the post is created under, fixed by the first attempt
+    private PostResponseDto response; // set once the post is stored
+    @Indexed(name = "createdAt_ttl", expireAfter = "1d")
+    private Instant createdAt;
+}
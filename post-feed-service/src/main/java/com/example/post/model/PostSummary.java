@@ -0,0 +1,53 @@
+package com.example.post.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only projection of a post with just the fields list views render.
+ * Queries returning it only ask Mongo for these fields.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummary {
+    public static final String[] FIELDS = {
+        "_id", "authorId", "authorName", "caption", "mediaUrls", "likes", "commentCount",
+        "recentComments", "shareCount", "createdAt", "updatedAt"
+    };
+
+    private String id;
+    private String authorId;
+    private String authorName;
+    private String caption;
+    private List<String> mediaUrls;
+    private int likes;
+    private int commentCount;
+    private List<Comment> recentComments;
+    private int shareCount;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Double score; // text search relevance, only set on search results
+
+    public static PostSummary of(Post post) {
+        return PostSummary.builder()
+            .id(post.getId())
+            .authorId(post.getAuthorId())
+            .authorName(post.getAuthorName())
+            .caption(post.getCaption())
+            .mediaUrls(post.getMediaUrls())
+            .likes(post.getLikes())
+            .commentCount(post.getCommentCount())
+            .recentComments(post.getRecentComments())
+            .shareCount(post.getShareCount())
+            .createdAt(post.getCreatedAt())
+            .updatedAt(post.getUpdatedAt())
+            .build();
+    }
+}
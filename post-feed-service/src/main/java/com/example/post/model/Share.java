@@ -5,13 +5,27 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
 import java.time.Instant;
 
+/**
+ * Entry of the append-only share log. Stored in a time series collection bucketed per post,
+ * so shares are only ever inserted and never rewrite the post document.
+ */
+@Document(collection = "post_shares")
+@TimeSeries(timeField = "sharedAt", metaField = "postId", granularity = Granularity.HOURS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Share {
+    @Id
+    private String id;
+    private String postId;
     private String userId;
     private Instant sharedAt;
     private String sharedTo; // could be "feed", "private_message", etc.
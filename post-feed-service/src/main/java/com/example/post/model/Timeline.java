@@ -0,0 +1,31 @@
+package com.example.post.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized timeline: a bounded list of post ids, newest first. Without a follow graph every
+ * user reads the global one; the document id is kept as the owner's user id for per-user timelines.
+ */
+@Document(collection = "timelines")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Timeline {
+    // timeline every new post is fanned out to and every user reads
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String userId;
+    private List<String> postIds;
+    private Instant updatedAt;
+}
@@ -0,0 +1,126 @@
+package com.example.post.profile;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.post.dto.AuthorProfileDto;
+import com.example.post.dto.PostResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Author profiles by user id, bounded in size and expired after a TTL so renamed users and new
+ * avatars show up within it. All misses of a page are fetched from auth-user-service with one
+ * batch call, so hydrating a feed page costs at most one remote call. After a failed call,
+ * pages are served from the cached profiles alone for the failure backoff, instead of every
+ * request waiting out the timeouts of an unreachable service.
+ */
+@Component
+@Slf4j
+public class ProfileCache {
+    private static final String NAME = "profiles";
+    // cached for ids auth-user-service does not know, so they are not asked for on every page
+    private static final AuthorProfileDto UNKNOWN = new AuthorProfileDto();
+
+    private final ProfileClient profileClient;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long failureBackoffNanos;
+    private final Cache<String, AuthorProfileDto> cache;
+    // System.nanoTime before which misses are not fetched, after a failed lookup
+    private volatile long retryAt = System.nanoTime();
+
+    public ProfileCache(ProfileClient profileClient,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.profiles.enabled:true}") boolean enabled,
+                        @Value("${app.profiles.cache-size:100000}") long cacheSize,
+                        @Value("${app.profiles.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${app.profiles.batch-size:500}") int batchSize,
+                        @Value("${app.profiles.failure-backoff-ms:5000}") long failureBackoffMs) {
+        this.profileClient = profileClient;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.failureBackoffNanos = failureBackoffMs * 1_000_000L;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    // Set the current username and avatar of each post's author. Posts keep their stored
+    // authorName when the author is unknown or auth-user-service cannot be reached.
+    public void hydrate(List<PostResponseDto> posts) {
+        if (!enabled || posts.isEmpty()) {
+            return;
+        }
+        Set<String> authorIds = new HashSet<>();
+        for (PostResponseDto post : posts) {
+            if (isUserId(post.getAuthorId())) {
+                authorIds.add(post.getAuthorId());
+            }
+        }
+        if (authorIds.isEmpty()) {
+            return;
+        }
+        Map<String, AuthorProfileDto> profiles;
+        if (System.nanoTime() - retryAt < 0) {
+            profiles = cache.getAllPresent(authorIds);
+        } else {
+            try {
+                profiles = cache.getAll(authorIds, this::load);
+            } catch (RuntimeException e) {
+                retryAt = System.nanoTime() + failureBackoffNanos;
+                log.warn("Author profile lookup failed, serving cached profiles and stored author names for {} ms",
+                    failureBackoffNanos / 1_000_000, e);
+                profiles = cache.getAllPresent(authorIds);
+            }
+        }
+        for (PostResponseDto post : posts) {
+            AuthorProfileDto profile = profiles.get(post.getAuthorId());
+            if (profile != null && profile != UNKNOWN) {
+                post.setAuthorName(profile.getUsername());
+                post.setAuthorAvatarUrl(profile.getAvatarUrl());
+            }
+        }
+    }
+
+    // all misses in one call, split only when there are more than one request may carry
+    private Map<String, AuthorProfileDto> load(Set<? extends String> missing) {
+        List<Long> ids = missing.stream().map(Long::valueOf).toList();
+        Map<String, AuthorProfileDto> loaded = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            loaded.putAll(profileClient.fetch(ids.subList(from, Math.min(from + batchSize, ids.size()))));
+        }
+        for (String id : missing) {
+            loaded.putIfAbsent(id, UNKNOWN);
+        }
+        return loaded;
+    }
+
+    // auth-user-service ids are numeric, anything else cannot be a user
+    private static boolean isUserId(String authorId) {
+        if (authorId == null || authorId.isEmpty() || authorId.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < authorId.length(); i++) {
+            char c = authorId.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
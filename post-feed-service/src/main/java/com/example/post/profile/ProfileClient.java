@@ -0,0 +1,69 @@
+package com.example.post.profile;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.example.common.web.APIResponse;
+import com.example.post.dto.AuthorProfileDto;
+
+/**
+ * Client of auth-user-service's batch profile endpoint.
+ */
+@Component
+public class ProfileClient {
+    private static final ParameterizedTypeReference<APIResponse<List<AuthorProfileDto>>> PROFILES =
+        new ParameterizedTypeReference<>() {
+        };
+
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private final RestClient restClient;
+
+    public ProfileClient(@Value("${app.profiles.base-url:http://localhost:8081}") String baseUrl,
+                         @Value("${app.profiles.service-token:}") String serviceToken,
+                         @Value("${app.profiles.timeout-ms:1000}") long timeoutMs) {
+        // pooled keep-alive connections
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        // built here rather than from Boot's RestClient.Builder, which the reactive profile does not provide
+        this.restClient = RestClient.builder()
+            .baseUrl(baseUrl)
+            .requestFactory(requestFactory)
+            // the batch endpoint only serves other services
+            .defaultHeader(SERVICE_TOKEN_HEADER, serviceToken)
+            .build();
+    }
+
+    // profiles of the given user ids in one call, by id; unknown users are left out
+    public Map<String, AuthorProfileDto> fetch(Collection<Long> ids) {
+        APIResponse<List<AuthorProfileDto>> response = restClient.post()
+            .uri("/api/user/profiles/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("ids", ids))
+            .retrieve()
+            .body(PROFILES);
+        if (response == null || response.getCode() != 200 || response.getData() == null) {
+            throw new RestClientException("Profile lookup failed: "
+                + (response != null ? response.getMessage() : "empty response"));
+        }
+        Map<String, AuthorProfileDto> profiles = new HashMap<>();
+        for (AuthorProfileDto profile : response.getData()) {
+            profiles.put(String.valueOf(profile.getId()), profile);
+        }
+        return profiles;
+    }
+}
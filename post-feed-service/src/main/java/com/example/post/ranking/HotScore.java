@@ -0,0 +1,41 @@
+package com.example.post.ranking;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+
+/**
+ * Time-decayed "hot" score: log10 of the engagement plus the creation time in units of
+ * {@link #DECAY_SECONDS}. A post needs ten times the engagement to outrank one created
+ * 12.5 hours later. Since time only enters through createdAt, the score of a post changes only when
+ * its engagement does, so it can be stored, indexed and refreshed incrementally.
+ */
+public final class HotScore {
+    public static final long DECAY_SECONDS = 45000;
+
+    private HotScore() {
+    }
+
+    public static double of(int engagementScore, Instant createdAt) {
+        long createdAtMillis = createdAt != null ? createdAt.toEpochMilli() : 0;
+        return Math.log10(Math.max(engagementScore, 1)) + createdAtMillis / (DECAY_SECONDS * 1000.0);
+    }
+
+    // the same formula evaluated by Mongo over the stored engagementScore and createdAt
+    public static AggregationExpression expression() {
+        return ArithmeticOperators.Add.valueOf(
+                ArithmeticOperators.Log10.log10ValueOf(
+                    ConditionalOperators.when(ComparisonOperators.Gt.valueOf("engagementScore").greaterThanValue(1))
+                        .thenValueOf("engagementScore")
+                        .otherwise(1)))
+            .add(ArithmeticOperators.Divide.valueOf(
+                    ConvertOperators.ToLong.toLong(
+                        ConditionalOperators.ifNull("createdAt").then(new Date(0))))
+                .divideBy(DECAY_SECONDS * 1000.0));
+    }
+}
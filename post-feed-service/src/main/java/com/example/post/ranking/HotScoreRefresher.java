@@ -0,0 +1,28 @@
+package com.example.post.ranking;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.post.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recomputes the stored hot score of posts whose engagement changed since the last run.
+ * Engagement updates flag the post as stale, so each run only touches those posts.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HotScoreRefresher {
+    private final PostRepository postRepository;
+
+    @Scheduled(fixedDelayString = "${app.feed.hot-score.refresh-interval-ms:30000}")
+    public void refresh() {
+        long refreshed = postRepository.refreshStaleHotScores();
+        if (refreshed > 0) {
+            log.debug("Refreshed hot score of {} posts", refreshed);
+        }
+    }
+}
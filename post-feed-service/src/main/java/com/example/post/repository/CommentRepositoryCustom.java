@@ -0,0 +1,11 @@
+package com.example.post.repository;
+
+import java.util.List;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.model.Comment;
+
+public interface CommentRepositoryCustom {
+    // newest first, strictly after the given cursor when present
+    List<Comment> findPage(String postId, PageCursor after, int limit);
+}
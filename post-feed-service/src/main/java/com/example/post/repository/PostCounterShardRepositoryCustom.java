@@ -0,0 +1,21 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.post.counter.EngagementCounterBuffer;
+
+public interface PostCounterShardRepositoryCustom {
+    // $inc one shard of the post, creating it on first use
+    void increment(String postId, int shard, long likes, long shares);
+
+    // like and share sums over the shards of each post; posts without shards are left out
+    Map<String, EngagementCounterBuffer.Delta> sumByPostIds(Collection<String> postIds);
+
+    // posts that currently have at least one shard
+    Set<String> findPostIds();
+
+    // remove every shard of the post one by one and return what they held
+    EngagementCounterBuffer.Delta drain(String postId);
+}
@@ -0,0 +1,10 @@
+package com.example.post.repository;
+
+import com.example.post.model.PostEvent;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostEventRepository extends MongoRepository<PostEvent, ObjectId>, PostEventRepositoryCustom {
+}
@@ -0,0 +1,21 @@
+package com.example.post.repository;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.example.post.model.PostEvent;
+
+public interface PostEventRepositoryCustom {
+    // give the events ascending ids and insert them in one bulk
+    void append(List<PostEvent> events);
+
+    // events with an id above after and below before, lowest first
+    List<PostEvent> findBetween(ObjectId after, ObjectId before, int limit);
+
+    // stored offset of the subscriber, the lowest possible id when it never handled an event
+    ObjectId findOffset(String subscriber);
+
+    // move the subscriber's offset forward, never back
+    void saveOffset(String subscriber, ObjectId eventId);
+}
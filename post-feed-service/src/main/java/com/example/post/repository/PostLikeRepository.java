@@ -0,0 +1,12 @@
+package com.example.post.repository;
+
+import com.example.post.model.PostLike;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostLikeRepository extends MongoRepository<PostLike, String>, PostLikeRepositoryCustom {
+    boolean existsByPostIdAndUserId(String postId, String userId);
+
+    long deleteByPostIdAndUserId(String postId, String userId);
+}
@@ -0,0 +1,18 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.example.post.model.PostLike;
+
+public interface PostLikeRepositoryCustom {
+    // the subset of postIds liked by the user, answered from the (userId, postId) index alone
+    Set<String> findLikedPostIds(String userId, Collection<String> postIds);
+
+    // insert the likes in one unordered bulk; per like, false when the user already liked the post
+    List<Boolean> insertNew(List<PostLike> likes);
+
+    // delete each (postId, userId) pair atomically; per pair, false when this call did not remove a like
+    List<Boolean> deleteExisting(List<PostLike> likes);
+}
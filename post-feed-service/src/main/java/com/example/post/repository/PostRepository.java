@@ -1,9 +1,18 @@
 package com.example.post.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PostRepository extends MongoRepository<Post, String> {
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
+    // DTO projections, only the PostSummary fields are read
+    Optional<PostSummary> findSummaryById(String id);
+
+    List<PostSummary> findSummariesByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,75 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.Comment;
+import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
+
+public interface PostRepositoryCustom {
+    // text relevance then newest first (newest first without text terms), strictly after the cursor when present
+    List<PostSummary> search(SearchPostRequestDto req, PageCursor after, int limit);
+
+    long countMatches(SearchPostRequestDto req);
+
+    // every search match in the same order, read lazily from a cursor
+    Stream<PostSummary> streamSearch(SearchPostRequestDto req);
+
+    // every post of the author, newest first, read lazily from a cursor
+    Stream<PostSummary> streamByAuthor(String authorId);
+
+    // highest hotScore first among the given ids, strictly after the cursor when present;
+    // returns only id, hotScore and createdAt so the ranking is answered from the index
+    List<Post> findRanked(Collection<String> ids, PageCursor after, int skip, int limit);
+
+    // ids of all the given posts in findRanked order, read lazily from a cursor
+    Stream<Post> streamRanked(Collection<String> ids);
+
+    // the subset of ids that belong to stored posts
+    Set<String> findExistingIds(Collection<String> ids);
+
+    // set caption and media of the post in one atomic update and return it as stored afterwards,
+    // leaving the counters and comments other writers maintain untouched
+    Optional<PostSummary> updateContent(String postId, String caption, List<String> mediaUrls);
+
+    // the mutators below apply a single atomic update and return false when nothing changed
+
+    // negative deltas never take likes below zero
+    boolean incrementLikes(String postId, int delta);
+
+    // counts the comment and keeps it among the post's latest keepRecent comments
+    boolean addComment(String postId, Comment comment, int keepRecent);
+
+    boolean incrementShares(String postId);
+
+    // apply like and share deltas of many posts in one unordered bulk of $inc updates,
+    // returns the posts whose update failed, all others were applied
+    Set<String> incrementCounters(Map<String, EngagementCounterBuffer.Delta> deltas);
+
+    // recompute hotScore of posts flagged by engagement updates since the last refresh
+    long refreshStaleHotScores();
+
+    // flag posts stored before hotScore existed for the next refresh
+    long markMissingHotScoresStale();
+
+    // set engagementScore on posts stored before it was persisted
+    long backfillEngagementScores();
+
+    // copy embedded likedByUserIds arrays into post_likes and drop them from posts
+    long moveLegacyLikes();
+
+    // append embedded shares arrays to the share log and drop them from posts, one post at a time;
+    // shares already in the log are skipped, so an interrupted run can be repeated
+    long moveLegacyShares();
+
+    // copy embedded comments arrays to post_comments, keeping only count and latest keepRecent on posts
+    long moveLegacyComments(int keepRecent);
+}
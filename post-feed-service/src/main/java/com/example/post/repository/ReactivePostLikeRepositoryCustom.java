@@ -0,0 +1,11 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePostLikeRepositoryCustom {
+    // the subset of postIds liked by the user, answered from the (userId, postId) index alone
+    Mono<Set<String>> findLikedPostIds(String userId, Collection<String> postIds);
+}
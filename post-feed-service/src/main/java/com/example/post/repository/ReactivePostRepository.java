@@ -0,0 +1,19 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+
+import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String>, ReactivePostRepositoryCustom {
+    // DTO projections, only the PostSummary fields are read
+    Mono<PostSummary> findSummaryById(String id);
+
+    Flux<PostSummary> findSummariesByIdIn(Collection<String> ids);
+}
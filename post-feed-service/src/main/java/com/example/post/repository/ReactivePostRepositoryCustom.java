@@ -0,0 +1,27 @@
+package com.example.post.repository;
+
+import java.util.Collection;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// non-blocking counterparts of the PostRepositoryCustom reads, same order and paging
+public interface ReactivePostRepositoryCustom {
+    Flux<PostSummary> search(SearchPostRequestDto req, PageCursor after, int limit);
+
+    Mono<Long> countMatches(SearchPostRequestDto req);
+
+    // every search match, emitted as the subscriber requests them
+    Flux<PostSummary> streamSearch(SearchPostRequestDto req);
+
+    // every post of the author, newest first, emitted as the subscriber requests them
+    Flux<PostSummary> streamByAuthor(String authorId);
+
+    // pass limit 0 to rank all the given posts
+    Flux<Post> findRanked(Collection<String> ids, PageCursor after, int skip, int limit);
+}
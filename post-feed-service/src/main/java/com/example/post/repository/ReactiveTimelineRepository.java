@@ -0,0 +1,9 @@
+package com.example.post.repository;
+
+import com.example.post.model.Timeline;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveTimelineRepository extends ReactiveMongoRepository<Timeline, String> {
+}
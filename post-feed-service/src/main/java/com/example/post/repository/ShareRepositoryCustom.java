@@ -0,0 +1,14 @@
+package com.example.post.repository;
+
+import java.util.List;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.model.Share;
+
+public interface ShareRepositoryCustom {
+    // create the time series collection and its (postId, sharedAt) index when missing
+    void ensureShareLog();
+
+    // newest first, strictly after the given cursor when present
+    List<Share> findHistory(String postId, PageCursor after, int limit);
+}
@@ -0,0 +1,9 @@
+package com.example.post.repository;
+
+import com.example.post.model.Timeline;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TimelineRepository extends MongoRepository<Timeline, String> {
+}
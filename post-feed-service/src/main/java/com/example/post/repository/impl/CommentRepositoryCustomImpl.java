@@ -0,0 +1,33 @@
+package com.example.post.repository.impl;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.model.Comment;
+import com.example.post.repository.CommentRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findPage(String postId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("postId").is(postId))
+            .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+            .limit(limit);
+        if (after != null) {
+            // range on the (postId, createdAt, _id) index
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("createdAt").lt(after.getCreatedAt()),
+                Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").lt(after.getId())));
+        }
+        return mongoTemplate.find(query, Comment.class);
+    }
+}
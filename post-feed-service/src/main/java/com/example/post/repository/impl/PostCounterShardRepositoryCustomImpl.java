@@ -0,0 +1,72 @@
+package com.example.post.repository.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.model.PostCounterShard;
+import com.example.post.repository.PostCounterShardRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PostCounterShardRepositoryCustomImpl implements PostCounterShardRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(String postId, int shard, long likes, long shares) {
+        Query query = new Query(Criteria.where("_id").is(PostCounterShard.id(postId, shard)));
+        Update update = new Update()
+            .setOnInsert("postId", postId)
+            .inc("likes", likes)
+            .inc("shares", shares);
+        mongoTemplate.upsert(query, update, PostCounterShard.class);
+    }
+
+    @Override
+    public Map<String, EngagementCounterBuffer.Delta> sumByPostIds(Collection<String> postIds) {
+        TypedAggregation<PostCounterShard> sum = Aggregation.newAggregation(PostCounterShard.class,
+            Aggregation.match(Criteria.where("postId").in(postIds)),
+            Aggregation.group("postId").sum("likes").as("likes").sum("shares").as("shares"));
+        Map<String, EngagementCounterBuffer.Delta> sums = new HashMap<>();
+        for (Document doc : mongoTemplate.aggregate(sum, Document.class).getMappedResults()) {
+            sums.put(doc.getString("_id"), new EngagementCounterBuffer.Delta(
+                ((Number) doc.get("likes")).longValue(), ((Number) doc.get("shares")).longValue()));
+        }
+        return sums;
+    }
+
+    @Override
+    public Set<String> findPostIds() {
+        return new HashSet<>(mongoTemplate.findDistinct(new Query(), "postId", PostCounterShard.class, String.class));
+    }
+
+    @Override
+    public EngagementCounterBuffer.Delta drain(String postId) {
+        Query ids = new Query(Criteria.where("postId").is(postId));
+        ids.fields().include("_id");
+        long likes = 0;
+        long shares = 0;
+        // each removal is atomic, an increment racing with it lands in a fresh shard for the next drain
+        for (PostCounterShard shard : mongoTemplate.find(ids, PostCounterShard.class)) {
+            PostCounterShard removed = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("_id").is(shard.getId())), PostCounterShard.class);
+            if (removed != null) {
+                likes += removed.getLikes();
+                shares += removed.getShares();
+            }
+        }
+        return likes == 0 && shares == 0 ? EngagementCounterBuffer.Delta.NONE : new EngagementCounterBuffer.Delta(likes, shares);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.post.repository.impl;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.post.model.PostEvent;
+import com.example.post.model.PostEventOffset;
+import com.example.post.repository.PostEventRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PostEventRepositoryCustomImpl implements PostEventRepositoryCustom {
+    private static final ObjectId BEFORE_ALL = new ObjectId(new byte[12]);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void append(List<PostEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // ids are taken here rather than from a shared counter, so appends of all instances run in
+        // parallel; within a process ObjectIds ascend, which keeps the order of the batch
+        for (PostEvent event : events) {
+            event.setId(new ObjectId());
+        }
+        mongoTemplate.insertAll(events);
+    }
+
+    @Override
+    public List<PostEvent> findBetween(ObjectId after, ObjectId before, int limit) {
+        Query query = new Query(Criteria.where("_id").gt(after).lt(before))
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .limit(limit);
+        return mongoTemplate.find(query, PostEvent.class);
+    }
+
+    @Override
+    public ObjectId findOffset(String subscriber) {
+        PostEventOffset offset = mongoTemplate.findById(subscriber, PostEventOffset.class);
+        return offset != null && offset.getEventId() != null ? offset.getEventId() : BEFORE_ALL;
+    }
+
+    @Override
+    public void saveOffset(String subscriber, ObjectId eventId) {
+        Update update = new Update()
+            .max("eventId", eventId)
+            .set("updatedAt", Instant.now());
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(subscriber)), update, PostEventOffset.class);
+    }
+}
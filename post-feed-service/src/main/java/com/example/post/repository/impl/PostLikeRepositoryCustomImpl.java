@@ -0,0 +1,80 @@
+package com.example.post.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.post.model.PostLike;
+import com.example.post.repository.PostLikeRepositoryCustom;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PostLikeRepositoryCustomImpl implements PostLikeRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Set<String> findLikedPostIds(String userId, Collection<String> postIds) {
+        Query query = PostQueries.likedPostIds(userId, postIds);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(PostLike.class)).stream()
+            .map(doc -> doc.getString("postId"))
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Boolean> insertNew(List<PostLike> likes) {
+        List<Boolean> inserted = new ArrayList<>(Collections.nCopies(likes.size(), true));
+        if (likes.isEmpty()) {
+            return inserted;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostLike.class)
+                .insert(likes)
+                .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                // the unique (postId, userId) index rejected an existing like
+                inserted.set(error.getIndex(), false);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<Boolean> deleteExisting(List<PostLike> likes) {
+        List<Boolean> deleted = new ArrayList<>(likes.size());
+        Set<String> seen = new HashSet<>();
+        for (PostLike like : likes) {
+            // a pair listed twice is only removed, and reported, once
+            if (!seen.add(pairKey(like))) {
+                deleted.add(false);
+                continue;
+            }
+            // one atomic delete per pair: of two concurrent unlikes only the one that removed the like counts it
+            Query pair = new Query(Criteria.where("postId").is(like.getPostId()).and("userId").is(like.getUserId()));
+            deleted.add(mongoTemplate.remove(pair, PostLike.class).getDeletedCount() > 0);
+        }
+        return deleted;
+    }
+
+    private static String pairKey(PostLike like) {
+        return like.getPostId() + '\u0000' + like.getUserId();
+    }
+}
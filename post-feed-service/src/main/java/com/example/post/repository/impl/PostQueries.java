@@ -0,0 +1,150 @@
+package com.example.post.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.PostSummary;
+
+/**
+ * Post queries shared by the blocking and the reactive repositories, so both stacks rank, filter
+ * and page posts the same way.
+ */
+final class PostQueries {
+    // documents per cursor batch of streamed reads, bounds the memory held per stream
+    static final int STREAM_BATCH_SIZE = 100;
+
+    private PostQueries() {
+    }
+
+    // highest hotScore first among the given ids, strictly after the cursor when present;
+    // reads only id, hotScore and createdAt so the ranking is answered from the index
+    static Query ranked(Collection<String> ids, PageCursor after) {
+        Query query = new Query(Criteria.where("_id").in(ids))
+            .with(Sort.by(Sort.Direction.DESC, "hotScore", "createdAt", "_id"));
+        if (after != null) {
+            query.addCriteria(keysetAfter("hotScore", after));
+        }
+        query.fields().include("_id", "hotScore", "createdAt");
+        return query;
+    }
+
+    // posts of the author, newest first
+    static Query byAuthor(String authorId) {
+        return new Query(Criteria.where("authorId").is(authorId))
+            .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"));
+    }
+
+    // post_likes of the user among postIds, projected to indexed fields only so the query is
+    // covered and never fetches like documents
+    static Query likedPostIds(String userId, Collection<String> postIds) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("postId").in(postIds))
+            .withHint("userId_postId");
+        query.fields().include("postId").exclude("_id");
+        return query;
+    }
+
+    // every post matching the search, unordered, for counting
+    static Query matches(SearchPostRequestDto req) {
+        Query query = new Query(searchFilters(req));
+        TextCriteria text = textCriteria(req);
+        if (text != null) {
+            query.addCriteria(text);
+        }
+        return query;
+    }
+
+    // text match and filters, relevance then recency order, and the PostSummary projection;
+    // a limit of 0 leaves the results unbounded
+    static List<AggregationOperation> searchStages(SearchPostRequestDto req, PageCursor after, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        TextCriteria text = textCriteria(req);
+        String scoreField = null;
+        if (text != null) {
+            // $text has to be the first stage
+            stages.add(Aggregation.match(text));
+            stages.add(Aggregation.addFields().addFieldWithValue("score", new Document("$meta", "textScore")).build());
+            scoreField = "score";
+        }
+        stages.add(Aggregation.match(searchFilters(req)));
+        if (after != null) {
+            // the score is a computed field, so the keyset range is applied after it is added
+            stages.add(Aggregation.match(keysetAfter(scoreField, after)));
+        }
+        stages.add(Aggregation.sort(scoreField != null
+            ? Sort.by(Sort.Direction.DESC, "score", "createdAt", "_id")
+            : Sort.by(Sort.Direction.DESC, "createdAt", "_id")));
+        if (limit > 0) {
+            stages.add(Aggregation.limit(limit));
+        }
+        ProjectionOperation summary = Aggregation.project(PostSummary.FIELDS);
+        stages.add(scoreField != null ? summary.and(scoreField).as(scoreField) : summary);
+        return stages;
+    }
+
+    // caption and authorName terms, served by the text index
+    private static TextCriteria textCriteria(SearchPostRequestDto req) {
+        String terms = Stream.of(req.getCaption(), req.getAuthorName())
+            .filter(t -> t != null && !t.isBlank())
+            .collect(Collectors.joining(" "));
+        return terms.isEmpty() ? null : TextCriteria.forDefaultLanguage().matching(terms);
+    }
+
+    // comments live in their own collection and are not searched
+    private static Criteria searchFilters(SearchPostRequestDto req) {
+        Criteria criteria = new Criteria();
+        if (req.getId() != null) {
+            criteria.and("_id").is(String.valueOf(req.getId()));
+        }
+        if (req.getAuthorId() != null) {
+            criteria.and("authorId").is(String.valueOf(req.getAuthorId()));
+        }
+        if (req.getLikes() > 0) {
+            criteria.and("likes").gte(req.getLikes());
+        }
+        if (req.getMediaUrls() != null && req.getMediaUrls().length > 0) {
+            criteria.and("mediaUrls").in((Object[]) req.getMediaUrls());
+        }
+        return criteria;
+    }
+
+    static Query byId(String postId) {
+        return new Query(Criteria.where("_id").is(postId));
+    }
+
+    // Keyset range matching everything ranked after the cursor in (score desc, createdAt desc, _id desc)
+    // order. Posts without createdAt sort last, and scoreField may be null for purely recency ordered pages.
+    private static Criteria keysetAfter(String scoreField, PageCursor after) {
+        List<Criteria> branches = new ArrayList<>();
+        Criteria sameScore = null;
+        if (scoreField != null) {
+            branches.add(Criteria.where(scoreField).lt(after.getScore()));
+            sameScore = Criteria.where(scoreField).is(after.getScore());
+        }
+        if (after.getCreatedAt() != null) {
+            branches.add(and(sameScore, Criteria.where("createdAt").lt(after.getCreatedAt())));
+            branches.add(and(sameScore, Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").lt(after.getId())));
+            branches.add(and(sameScore, Criteria.where("createdAt").is(null)));
+        } else {
+            branches.add(and(sameScore, Criteria.where("createdAt").is(null).and("_id").lt(after.getId())));
+        }
+        return new Criteria().orOperator(branches);
+    }
+
+    private static Criteria and(Criteria first, Criteria second) {
+        return first == null ? second : new Criteria().andOperator(first, second);
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.post.repository.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.Comment;
+import com.example.post.model.Post;
+import com.example.post.model.PostLike;
+import com.example.post.model.PostSummary;
+import com.example.post.model.Share;
+import com.example.post.ranking.HotScore;
+import com.example.post.repository.PostRepositoryCustom;
+import com.mongodb.bulk.BulkWriteError;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<PostSummary> search(SearchPostRequestDto req, PageCursor after, int limit) {
+        TypedAggregation<Post> search = Aggregation.newAggregation(Post.class, PostQueries.searchStages(req, after, limit));
+        return mongoTemplate.aggregate(search, PostSummary.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<PostSummary> streamSearch(SearchPostRequestDto req) {
+        TypedAggregation<Post> search = Aggregation.newAggregation(Post.class, PostQueries.searchStages(req, null, 0))
+            .withOptions(AggregationOptions.builder().cursorBatchSize(PostQueries.STREAM_BATCH_SIZE).build());
+        return mongoTemplate.aggregateStream(search, PostSummary.class);
+    }
+
+    @Override
+    public Stream<PostSummary> streamByAuthor(String authorId) {
+        Query query = PostQueries.byAuthor(authorId)
+            .cursorBatchSize(PostQueries.STREAM_BATCH_SIZE);
+        return mongoTemplate.query(Post.class).as(PostSummary.class).matching(query).stream();
+    }
+
+    @Override
+    public long countMatches(SearchPostRequestDto req) {
+        Query query = PostQueries.matches(req);
+        if (query.getQueryObject().isEmpty()) {
+            return mongoTemplate.estimatedCount(Post.class);
+        }
+        return mongoTemplate.count(query, Post.class);
+    }
+
+    @Override
+    public List<Post> findRanked(Collection<String> ids, PageCursor after, int skip, int limit) {
+        Query query = PostQueries.ranked(ids, after)
+            .skip(skip)
+            .limit(limit);
+        return mongoTemplate.find(query, Post.class);
+    }
+
+    @Override
+    public Stream<Post> streamRanked(Collection<String> ids) {
+        Query query = PostQueries.ranked(ids, null)
+            .cursorBatchSize(PostQueries.STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, Post.class);
+    }
+
+    @Override
+    public Optional<PostSummary> updateContent(String postId, String caption, List<String> mediaUrls) {
+        Query query = PostQueries.byId(postId);
+        query.fields().include(PostSummary.FIELDS);
+        Update update = new Update()
+            .set("caption", caption)
+            .set("mediaUrls", mediaUrls)
+            .set("updatedAt", Instant.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().returnNew(true), PostSummary.class, mongoTemplate.getCollectionName(Post.class)));
+    }
+
+    @Override
+    public boolean incrementLikes(String postId, int delta) {
+        Query query = PostQueries.byId(postId);
+        if (delta < 0) {
+            query.addCriteria(Criteria.where("likes").gte(-delta));
+        }
+        Update update = new Update()
+            .inc("likes", delta)
+            .inc("engagementScore", delta)
+            .set("hotScoreStale", true);
+        return mongoTemplate.updateFirst(query, update, Post.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Set<String> incrementCounters(Map<String, EngagementCounterBuffer.Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+        // bulk errors report the index of the failed update, keep the order the updates were queued in
+        List<String> postIds = new ArrayList<>(deltas.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        for (String postId : postIds) {
+            EngagementCounterBuffer.Delta delta = deltas.get(postId);
+            bulk.updateOne(PostQueries.byId(postId), new Update()
+                .inc("likes", delta.likes())
+                .inc("shareCount", delta.shares())
+                .inc("engagementScore", delta.likes() + delta.shares())
+                .set("hotScoreStale", true));
+        }
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            // unordered, so every update without a write error was applied, also on a write concern error
+            Set<String> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(postIds.get(error.getIndex()));
+            }
+            return failed;
+        }
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Post.class)).stream()
+            .map(doc -> doc.getString("_id"))
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean addComment(String postId, Comment comment, int keepRecent) {
+        Update update = new Update()
+            .inc("commentCount", 1)
+            .inc("engagementScore", 1)
+            .set("hotScoreStale", true);
+        update.push("recentComments").atPosition(0).slice(keepRecent).each(comment);
+        return mongoTemplate.updateFirst(PostQueries.byId(postId), update, Post.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean incrementShares(String postId) {
+        Update update = new Update()
+            .inc("shareCount", 1)
+            .inc("engagementScore", 1)
+            .set("hotScoreStale", true);
+        return mongoTemplate.updateFirst(PostQueries.byId(postId), update, Post.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public long backfillEngagementScores() {
+        // likes + comments + shares, computed server side in a single pipeline update
+        AggregationUpdate score = AggregationUpdate.update()
+            .set("engagementScore").toValue(ArithmeticOperators.Add.valueOf("likes")
+                .add(ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull("comments").then(List.of())))
+                .add("shareCount"));
+        Query missing = new Query(Criteria.where("engagementScore").exists(false));
+        return mongoTemplate.updateMulti(missing, score, Post.class).getModifiedCount();
+    }
+
+    @Override
+    public long refreshStaleHotScores() {
+        // evaluated per document against its current engagementScore, so concurrent $inc updates are never lost
+        AggregationUpdate refresh = AggregationUpdate.update()
+            .set("hotScore").toValue(HotScore.expression())
+            .unset("hotScoreStale");
+        Query stale = new Query(Criteria.where("hotScoreStale").is(true));
+        return mongoTemplate.updateMulti(stale, refresh, Post.class).getModifiedCount();
+    }
+
+    @Override
+    public long markMissingHotScoresStale() {
+        Query missing = new Query(Criteria.where("hotScore").exists(false));
+        return mongoTemplate.updateMulti(missing, new Update().set("hotScoreStale", true), Post.class).getModifiedCount();
+    }
+
+    @Override
+    public long moveLegacyLikes() {
+        Criteria hasLikers = Criteria.where("likedByUserIds.0").exists(true);
+        if (!mongoTemplate.exists(new Query(hasLikers), Post.class)) {
+            return 0;
+        }
+        Aggregation copyLikes = Aggregation.newAggregation(
+            Aggregation.match(hasLikers),
+            Aggregation.unwind("likedByUserIds"),
+            Aggregation.project().and("_id").as("postId").and("likedByUserIds").as("userId").andExclude("_id"),
+            Aggregation.merge().intoCollection(mongoTemplate.getCollectionName(PostLike.class))
+                .on("postId", "userId")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.keepExistingDocument())
+                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build());
+        mongoTemplate.aggregate(copyLikes, Post.class, Document.class);
+        Query legacy = new Query(Criteria.where("likedByUserIds").exists(true));
+        return mongoTemplate.updateMulti(legacy, new Update().unset("likedByUserIds"), Post.class).getModifiedCount();
+    }
+
+    @Override
+    public long moveLegacyShares() {
+        Query legacy = new Query(Criteria.where("shares").exists(true));
+        legacy.fields().include("_id", "shares");
+        long moved = 0;
+        // time series collections can't be a $merge target and have no unique index, so each post is
+        // copied on its own and only its shares missing from the log are inserted; a run interrupted
+        // between the copy and the unset of a post inserts nothing twice when it is repeated
+        try (Stream<Document> posts = mongoTemplate.stream(legacy, Document.class, mongoTemplate.getCollectionName(Post.class))) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                List<Share> missing = missingShares(post.get("_id").toString(), post.getList("shares", Document.class));
+                if (!missing.isEmpty()) {
+                    mongoTemplate.insert(missing, Share.class);
+                }
+                moved += mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(post.get("_id"))),
+                    new Update().unset("shares"), Post.class).getModifiedCount();
+            }
+        }
+        return moved;
+    }
+
+    // the post's embedded shares not in the share log yet, compared by user, time and target
+    private List<Share> missingShares(String postId, List<Document> embedded) {
+        List<Share> shares = new ArrayList<>();
+        if (embedded != null) {
+            for (Document share : embedded) {
+                if (share.getDate("sharedAt") != null) {
+                    shares.add(Share.builder()
+                        .postId(postId)
+                        .userId(share.getString("userId"))
+                        .sharedAt(share.getDate("sharedAt").toInstant())
+                        .sharedTo(share.getString("sharedTo"))
+                        .build());
+                }
+            }
+        }
+        if (shares.isEmpty()) {
+            return shares;
+        }
+        Instant from = shares.stream().map(Share::getSharedAt).min(Instant::compareTo).orElseThrow();
+        Instant to = shares.stream().map(Share::getSharedAt).max(Instant::compareTo).orElseThrow();
+        Map<List<Object>, Integer> logged = new HashMap<>();
+        for (Share share : mongoTemplate.find(new Query(Criteria.where("postId").is(postId)
+                .and("sharedAt").gte(from).lte(to)), Share.class)) {
+            logged.merge(shareKey(share), 1, Integer::sum);
+        }
+        List<Share> missing = new ArrayList<>(shares.size());
+        for (Share share : shares) {
+            // a share logged n times accounts for n identical embedded entries
+            Integer count = logged.get(shareKey(share));
+            if (count == null) {
+                missing.add(share);
+            } else if (count == 1) {
+                logged.remove(shareKey(share));
+            } else {
+                logged.put(shareKey(share), count - 1);
+            }
+        }
+        return missing;
+    }
+
+    private static List<Object> shareKey(Share share) {
+        return Arrays.asList(share.getUserId(), share.getSharedAt(), share.getSharedTo());
+    }
+
+    @Override
+    public long moveLegacyComments(int keepRecent) {
+        Criteria hasComments = Criteria.where("comments").type(JsonSchemaObject.Type.ARRAY);
+        if (!mongoTemplate.exists(new Query(hasComments), Post.class)) {
+            return 0;
+        }
+        // each copy keeps the embedded comment's id, or gets postId:index without one, so a run
+        // interrupted before the unset below copies nothing twice when it is repeated
+        Aggregation copyComments = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("comments.0").exists(true)),
+            Aggregation.unwind("comments", "commentIndex"),
+            Aggregation.project()
+                .and(ConditionalOperators.ifNull("comments._id")
+                    .thenValueOf(StringOperators.Concat.valueOf(ConvertOperators.valueOf("_id").convertToString())
+                        .concat(":")
+                        .concatValueOf(ConvertOperators.valueOf("commentIndex").convertToString())))
+                .as("_id")
+                .and("_id").as("postId")
+                .and("comments.userId").as("userId")
+                .and("comments.text").as("text")
+                .and("comments.createdAt").as("createdAt")
+                .and("comments.updatedAt").as("updatedAt"),
+            Aggregation.merge().intoCollection(mongoTemplate.getCollectionName(Comment.class))
+                .on("_id")
+                .whenMatched(MergeOperation.WhenDocumentsMatch.keepExistingDocument())
+                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                .build());
+        mongoTemplate.aggregate(copyComments, Post.class, Document.class);
+
+        // embedded comments were appended oldest first
+        AggregationUpdate summarize = AggregationUpdate.update()
+            .set("commentCount").toValue(ArrayOperators.Size.lengthOfArray("comments"))
+            .set("recentComments").toValue(ArrayOperators.ReverseArray.reverseArrayOf(
+                ArrayOperators.Slice.sliceArrayOf("comments").itemCount(-keepRecent)))
+            .unset("comments");
+        return mongoTemplate.updateMulti(new Query(hasComments), summarize, Post.class)
+            .getModifiedCount();
+    }
+}
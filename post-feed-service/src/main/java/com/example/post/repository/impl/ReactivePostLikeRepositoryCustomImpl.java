@@ -0,0 +1,27 @@
+package com.example.post.repository.impl;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.example.post.model.PostLike;
+import com.example.post.repository.ReactivePostLikeRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactivePostLikeRepositoryCustomImpl implements ReactivePostLikeRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Set<String>> findLikedPostIds(String userId, Collection<String> postIds) {
+        return mongoTemplate.find(PostQueries.likedPostIds(userId, postIds), Document.class,
+                mongoTemplate.getCollectionName(PostLike.class))
+            .map(doc -> doc.getString("postId"))
+            .collect(Collectors.toSet());
+    }
+}
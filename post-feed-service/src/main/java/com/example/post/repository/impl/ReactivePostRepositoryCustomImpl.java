@@ -0,0 +1,62 @@
+package com.example.post.repository.impl;
+
+import java.util.Collection;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
+import com.example.post.repository.ReactivePostRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactivePostRepositoryCustomImpl implements ReactivePostRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<PostSummary> search(SearchPostRequestDto req, PageCursor after, int limit) {
+        TypedAggregation<Post> search = Aggregation.newAggregation(Post.class, PostQueries.searchStages(req, after, limit));
+        return mongoTemplate.aggregate(search, PostSummary.class);
+    }
+
+    @Override
+    public Mono<Long> countMatches(SearchPostRequestDto req) {
+        Query query = PostQueries.matches(req);
+        if (query.getQueryObject().isEmpty()) {
+            return mongoTemplate.estimatedCount(Post.class);
+        }
+        return mongoTemplate.count(query, Post.class);
+    }
+
+    @Override
+    public Flux<PostSummary> streamSearch(SearchPostRequestDto req) {
+        TypedAggregation<Post> search = Aggregation.newAggregation(Post.class, PostQueries.searchStages(req, null, 0))
+            .withOptions(AggregationOptions.builder().cursorBatchSize(PostQueries.STREAM_BATCH_SIZE).build());
+        return mongoTemplate.aggregate(search, PostSummary.class);
+    }
+
+    @Override
+    public Flux<PostSummary> streamByAuthor(String authorId) {
+        Query query = PostQueries.byAuthor(authorId)
+            .cursorBatchSize(PostQueries.STREAM_BATCH_SIZE);
+        return mongoTemplate.query(Post.class).as(PostSummary.class).matching(query).all();
+    }
+
+    @Override
+    public Flux<Post> findRanked(Collection<String> ids, PageCursor after, int skip, int limit) {
+        Query query = PostQueries.ranked(ids, after)
+            .skip(skip)
+            .limit(limit)
+            .cursorBatchSize(PostQueries.STREAM_BATCH_SIZE);
+        return mongoTemplate.find(query, Post.class);
+    }
+}
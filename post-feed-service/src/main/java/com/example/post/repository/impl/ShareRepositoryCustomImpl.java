@@ -0,0 +1,45 @@
+package com.example.post.repository.impl;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.post.dto.PageCursor;
+import com.example.post.model.Share;
+import com.example.post.repository.ShareRepositoryCustom;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ShareRepositoryCustomImpl implements ShareRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void ensureShareLog() {
+        if (!mongoTemplate.collectionExists(Share.class)) {
+            // picks up the @TimeSeries options, a plain insert would create a regular collection
+            mongoTemplate.createCollection(Share.class);
+        }
+        mongoTemplate.indexOps(Share.class).ensureIndex(new Index()
+            .named("postId_sharedAt")
+            .on("postId", Sort.Direction.ASC)
+            .on("sharedAt", Sort.Direction.DESC));
+    }
+
+    @Override
+    public List<Share> findHistory(String postId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("postId").is(postId))
+            .with(Sort.by(Sort.Direction.DESC, "sharedAt", "_id"))
+            .limit(limit);
+        if (after != null) {
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("sharedAt").lt(after.getCreatedAt()),
+                Criteria.where("sharedAt").is(after.getCreatedAt()).and("_id").lt(after.getId())));
+        }
+        return mongoTemplate.find(query, Share.class);
+    }
+}
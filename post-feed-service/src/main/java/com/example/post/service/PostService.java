@@ -2,10 +2,16 @@ package com.example.post.service;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.EngagementResultDto;
 import com.example.post.dto.PostCommentDto;
 import com.example.post.dto.PostRequestDto;
 import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.PostShareDto;
 import com.example.post.dto.SearchPostRequestDto;
 import com.example.post.dto.FeedRequestDto;
 
@@ -16,17 +22,31 @@ public interface PostService {
 
     PostResponseDto getById(String id);
 
+    List<PostResponseDto> batchGet(BatchGetRequestDto req);
+
     PostResponseDto update(String id, PostRequestDto req);
 
     void delete(String id);
 
     String comment(String id, PostCommentDto c);
 
+    CursorPageDto<PostCommentDto> getComments(String id, String cursor, int pageSize);
+
     void like(String id, String userId);
 
     void unlike(String id, String userId);
 
     void share(String id, String userId, String sharedTo);
 
-    List<PostResponseDto> getPersonalizedFeed(FeedRequestDto req);
+    List<EngagementResultDto> applyEngagement(BatchEngagementRequestDto req);
+
+    CursorPageDto<PostShareDto> getShares(String id, String cursor, int pageSize);
+
+    CursorPageDto<PostResponseDto> getPersonalizedFeed(FeedRequestDto req);
+
+    void streamPersonalizedFeed(FeedRequestDto req, Consumer<PostResponseDto> sink);
+
+    void streamData(SearchPostRequestDto req, Consumer<PostResponseDto> sink);
+
+    void exportByAuthor(String authorId, Consumer<PostResponseDto> sink);
 }
@@ -0,0 +1,26 @@
+package com.example.post.service;
+
+import java.util.HashMap;
+
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.FeedRequestDto;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.SearchPostRequestDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking reads of the reactive profile; same results as the matching PostService methods
+public interface ReactivePostService {
+    Mono<HashMap<String, Object>> findData(SearchPostRequestDto req);
+
+    Flux<PostResponseDto> streamData(SearchPostRequestDto req);
+
+    Mono<PostResponseDto> getById(String id);
+
+    Mono<CursorPageDto<PostResponseDto>> getPersonalizedFeed(FeedRequestDto req);
+
+    Flux<PostResponseDto> streamPersonalizedFeed(FeedRequestDto req);
+
+    Flux<PostResponseDto> exportByAuthor(String authorId);
+}
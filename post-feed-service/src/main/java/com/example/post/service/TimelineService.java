@@ -0,0 +1,11 @@
+package com.example.post.service;
+
+import java.util.List;
+
+public interface TimelineService {
+    void fanOut(String postId);
+
+    void remove(String postId);
+
+    List<String> getTimeline(String userId);
+}
@@ -3,32 +3,89 @@ package com.example.post.service.impl;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import com.example.post.cache.PostCache;
+import com.example.post.cache.SingleFlight;
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.counter.EngagementCounters;
+import com.example.post.dto.BatchEngagementRequestDto;
+import com.example.post.dto.BatchGetRequestDto;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.EngagementOpDto;
+import com.example.post.dto.EngagementResultDto;
+import com.example.post.dto.PageCursor;
 import com.example.post.dto.PostCommentDto;
 import com.example.post.dto.PostRequestDto;
 import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.PostShareDto;
 import com.example.post.dto.SearchPostRequestDto;
 import com.example.post.dto.FeedRequestDto;
+import com.example.post.idempotency.IdempotencyStore;
+import com.example.post.metrics.PostMetrics;
 import com.example.post.model.Post;
+import com.example.post.model.PostEvent;
 import com.example.post.model.Comment;
+import com.example.post.model.PostLike;
+import com.example.post.model.PostRequest;
+import com.example.post.model.PostSummary;
 import com.example.post.model.Share;
+import com.example.post.profile.ProfileCache;
+import com.example.post.ranking.HotScore;
+import com.example.post.repository.CommentRepository;
+import com.example.post.repository.PostEventRepository;
+import com.example.post.repository.PostLikeRepository;
 import com.example.post.repository.PostRepository;
+import com.example.post.repository.ShareRepository;
 import com.example.post.service.PostService;
+import com.example.post.service.TimelineService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "post.service", histogram = true)
 public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final ShareRepository shareRepository;
+    private final CommentRepository commentRepository;
+    private final TimelineService timelineService;
+    private final EngagementCounters engagementCounters;
+    private final PostCache postCache;
+    private final SingleFlight<FeedRequestDto, CursorPageDto<PostResponseDto>> feedLoads;
+    private final IdempotencyStore idempotencyStore;
+    private final PostMetrics postMetrics;
+    private final PostEventRepository postEventRepository;
+    private final ProfileCache profileCache;
+
+    // posts hydrated per round trip when streaming a feed
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    @Value("${app.feed.recent-comments:3}")
+    private int recentComments;
+
+    @Value("${app.batch.max-size:300}")
+    private int maxBatchSize;
 
     // validate data
     private void validatePostRequest(PostRequestDto req) {
@@ -40,20 +97,14 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    // Convert Post to PostResponseDto
-    private PostResponseDto convertToResponseDto(Post post, String currentUserId) {
-        boolean likedByCurrentUser = post.getLikedByUserIds() != null && 
-                                     post.getLikedByUserIds().contains(currentUserId);
-        
-        List<PostCommentDto> commentDtos = post.getComments() != null ? 
-            post.getComments().stream()
-                .map(c -> PostCommentDto.builder()
-                    .id(c.getId())
-                    .userId(c.getUserId())
-                    .text(c.getText())
-                    .createdAt(c.getCreatedAt())
-                    .updatedAt(c.getUpdatedAt())
-                    .build())
+    // Convert PostSummary to PostResponseDto, also used by the reactive service
+    PostResponseDto convertToResponseDto(PostSummary post, boolean likedByCurrentUser) {
+        // overlay increments still waiting in the counter buffer
+        EngagementCounterBuffer.Delta pending = engagementCounters.pending(post.getId());
+
+        List<PostCommentDto> commentDtos = post.getRecentComments() != null ?
+            post.getRecentComments().stream()
+                .map(this::convertToCommentDto)
                 .collect(Collectors.toList()) : new ArrayList<>();
 
         return PostResponseDto.builder()
@@ -62,33 +113,66 @@ public class PostServiceImpl implements PostService {
                 .authorName(post.getAuthorName())
                 .caption(post.getCaption())
                 .mediaUrls(post.getMediaUrls())
-                .likes(post.getLikes())
+                .likes((int) (post.getLikes() + pending.likes()))
+                .commentCount(post.getCommentCount())
                 .comments(commentDtos)
-                .shareCount(post.getShareCount())
+                .shareCount((int) (post.getShareCount() + pending.shares()))
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .likedByCurrentUser(likedByCurrentUser)
                 .build();
     }
 
+    private PostCommentDto convertToCommentDto(Comment c) {
+        return PostCommentDto.builder()
+                .id(c.getId())
+                .userId(c.getUserId())
+                .text(c.getText())
+                .createdAt(c.getCreatedAt())
+                .updatedAt(c.getUpdatedAt())
+                .build();
+    }
+
     @Override
     public PostResponseDto getById(String id) {
-        Optional<Post> postOpt = postRepository.findById(id);
+        Optional<PostSummary> postOpt = postCache.get(id, this::loadSummary);
         if (postOpt.isPresent()) {
-            return convertToResponseDto(postOpt.get(), null);
+            PostResponseDto post = convertToResponseDto(postOpt.get(), false);
+            profileCache.hydrate(List.of(post));
+            return post;
         }
         return null;
     }
 
+    @Override
+    public List<PostResponseDto> batchGet(BatchGetRequestDto req) {
+        if (req.getIds() == null || req.getIds().isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = List.copyOf(new LinkedHashSet<>(req.getIds()));
+        checkBatchSize(ids.size());
+        // cache hits are served from memory, all misses are read with one $in query
+        List<PostSummary> posts = postCache.getAll(ids, this::loadSummaries);
+        Set<String> liked = likedPostIds(req.getUserId(), posts);
+        List<PostResponseDto> items = posts.stream()
+            .map(p -> convertToResponseDto(p, liked.contains(p.getId())))
+            .collect(Collectors.toList());
+        profileCache.hydrate(items);
+        return items;
+    }
+
     @Override
     public PostResponseDto update(String id, PostRequestDto req) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.setCaption(req.getCaption());
-            post.setMediaUrls(java.util.Arrays.asList(req.getMediaUrls()));
-            Post updated = postRepository.save(post);
-            return convertToResponseDto(updated, req.getAuthorId());
+        // $set of the edited fields only, so concurrent counter and comment updates are kept
+        Optional<PostSummary> updated = postRepository.updateContent(id, req.getCaption(),
+            java.util.Arrays.asList(req.getMediaUrls()));
+        if (updated.isPresent()) {
+            PostSummary summary = updated.get();
+            publish(PostEvent.of(PostEvent.Type.POST_UPDATED, id, summary.getAuthorId()));
+            postCache.put(summary);
+            boolean liked = req.getAuthorId() != null
+                && postLikeRepository.existsByPostIdAndUserId(id, req.getAuthorId());
+            return convertToResponseDto(summary, liked);
         }
         return null;
     }
@@ -96,159 +180,483 @@ public class PostServiceImpl implements PostService {
     @Override
     public void delete(String id) {
         postRepository.deleteById(id);
+        postCache.invalidate(id);
+        publish(PostEvent.of(PostEvent.Type.POST_DELETED, id, null));
     }
 
     @Override
     public PostResponseDto create(PostRequestDto req) {
         validatePostRequest(req);
+        String requestId = req.getRequestId();
+        if (requestId == null || requestId.isBlank()) {
+            return createPost(req, UUID.randomUUID().toString());
+        }
+
+        // Retried requests get the original response back without writing again
+        Optional<PostResponseDto> original = idempotencyStore.find(requestId);
+        if (original.isPresent()) {
+            log.debug("Replayed create request {}", requestId);
+            return original.get();
+        }
+        PostRequest claim = idempotencyStore.claim(requestId, UUID.randomUUID().toString());
+        if (claim.getResponse() != null) {
+            return claim.getResponse();
+        }
+        PostResponseDto response = createPost(req, claim.getPostId());
+        idempotencyStore.complete(requestId, response);
+        return response;
+    }
+
+    private PostResponseDto createPost(PostRequestDto req, String postId) {
         Post post = Post.builder()
-            .id(UUID.randomUUID().toString())
+            .id(postId)
             .authorId(req.getAuthorId())
             .authorName(req.getAuthorName())
             .caption(req.getCaption())
             .mediaUrls(java.util.Arrays.asList(req.getMediaUrls()))
             .likes(0)
-            .likedByUserIds(new ArrayList<>())
-            .comments(new ArrayList<>())
-            .shares(new ArrayList<>())
+            .commentCount(0)
+            .recentComments(new ArrayList<>())
             .shareCount(0)
+            .engagementScore(0)
             .build();
-        Post saved = postRepository.save(post);
-        return convertToResponseDto(saved, req.getAuthorId());
+        // Set createdAt manually as auditing does not run for pre-assigned ids
+        post.setCreatedAt(Instant.now());
+        post.setUpdatedAt(post.getCreatedAt());
+        post.setHotScore(HotScore.of(0, post.getCreatedAt()));
+        PostSummary saved;
+        try {
+            saved = PostSummary.of(postRepository.insert(post));
+        } catch (DuplicateKeyException e) {
+            // an earlier or concurrent attempt of the same request stored the post first; it may have
+            // crashed before recording the event, so record it again, the fan-out is idempotent
+            saved = postRepository.findSummaryById(postId).orElseThrow(() -> e);
+        }
+        // the timeline subscriber fans the post out
+        publish(PostEvent.of(PostEvent.Type.POST_CREATED, saved.getId(), saved.getAuthorId()));
+        return convertToResponseDto(saved, false);
     }
 
     @Override
     public HashMap<String, Object> findData(SearchPostRequestDto req) {
-        // Simple search/pagination implementation
-        List<Post> posts = postRepository.findAll();
+        // Text search on caption/authorName ranked by relevance then recency, filtered and keyset paged
+        int pageSize = req.getPageSize() > 0 ? req.getPageSize() : 10;
+        List<PostSummary> posts = postRepository.search(req, PageCursor.decode(req.getCursor()), pageSize + 1);
+        List<PostSummary> page = posts.subList(0, Math.min(pageSize, posts.size()));
+
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            PostSummary last = page.get(page.size() - 1);
+            double score = last.getScore() != null ? last.getScore() : 0;
+            nextCursor = new PageCursor(score, last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<PostResponseDto> items = page.stream()
+            .map(p -> convertToResponseDto(p, false))
+            .collect(Collectors.toList());
+        profileCache.hydrate(items);
+
         HashMap<String, Object> result = new HashMap<>();
-        result.put("total", posts.size());
-        result.put("posts", posts.stream()
-            .map(p -> convertToResponseDto(p, null))
-            .collect(Collectors.toList()));
+        result.put("total", postRepository.countMatches(req));
+        result.put("posts", items);
+        result.put("nextCursor", nextCursor);
         return result;
     }
 
     @Override
     public String comment(String id, PostCommentDto c) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            if (post.getComments() == null) {
-                post.setComments(new ArrayList<>());
-            }
-            
-            String commentId = UUID.randomUUID().toString();
-            Comment comment = Comment.builder()
-                    .userId(c.getUserId())
-                    .text(c.getText())
-                    .build();
-            // Set createdAt and id manually as they're not set by builder
-            comment.setCreatedAt(Instant.now());
-            
-            post.getComments().add(comment);
-            postRepository.save(post);
-            return commentId;
+        String commentId = UUID.randomUUID().toString();
+        Comment comment = Comment.builder()
+                .id(commentId)
+                .postId(id)
+                .userId(c.getUserId())
+                .text(c.getText())
+                .build();
+        // Set createdAt manually as it's not set by builder
+        comment.setCreatedAt(Instant.now());
+
+        // Count first so comments on unknown posts are never stored
+        if (!postRepository.addComment(id, comment, recentComments)) {
+            return null;
         }
-        return null;
+        commentRepository.insert(comment);
+        postCache.invalidate(id);
+        PostEvent commented = PostEvent.of(PostEvent.Type.COMMENTED, id, c.getUserId());
+        commented.setCommentId(commentId);
+        publish(commented);
+        return commentId;
+    }
+
+    @Override
+    public CursorPageDto<PostCommentDto> getComments(String id, String cursor, int pageSize) {
+        int size = pageSize > 0 ? pageSize : 10;
+        List<Comment> comments = commentRepository.findPage(id, PageCursor.decode(cursor), size + 1);
+        List<Comment> page = comments.subList(0, Math.min(size, comments.size()));
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            Comment last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(0, last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPageDto.<PostCommentDto>builder()
+            .items(page.stream()
+                .map(this::convertToCommentDto)
+                .collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .build();
     }
 
     @Override
     public void like(String id, String userId) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            
-            // Initialize likedByUserIds if null
-            if (post.getLikedByUserIds() == null) {
-                post.setLikedByUserIds(new ArrayList<>());
-            }
-            
-            // Prevent duplicate likes
-            if (!post.getLikedByUserIds().contains(userId)) {
-                post.getLikedByUserIds().add(userId);
-                post.setLikes(post.getLikes() + 1);
-                postRepository.save(post);
-                log.info("User " + userId + " liked post " + id);
-            }
+        if (!postRepository.existsById(id)) {
+            return;
         }
+        try {
+            postLikeRepository.insert(PostLike.builder()
+                    .postId(id)
+                    .userId(userId)
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (DuplicateKeyException e) {
+            // Already liked, the unique (postId, userId) index prevents duplicate likes
+            return;
+        }
+        engagementCounters.incrementLikes(id, 1);
+        publish(PostEvent.of(PostEvent.Type.LIKED, id, userId));
+        log.debug("User {} liked post {}", userId, id);
     }
 
     @Override
     public void unlike(String id, String userId) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            
-            if (post.getLikedByUserIds() != null && post.getLikedByUserIds().contains(userId)) {
-                post.getLikedByUserIds().remove(userId);
-                post.setLikes(Math.max(0, post.getLikes() - 1));
-                postRepository.save(post);
-                log.info("User " + userId + " unliked post " + id);
-            }
+        if (postLikeRepository.deleteByPostIdAndUserId(id, userId) > 0) {
+            engagementCounters.incrementLikes(id, -1);
+            publish(PostEvent.of(PostEvent.Type.UNLIKED, id, userId));
+            log.debug("User {} unliked post {}", userId, id);
         }
     }
 
     @Override
     public void share(String id, String userId, String sharedTo) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            
-            if (post.getShares() == null) {
-                post.setShares(new ArrayList<>());
-            }
-            
-            Share share = Share.builder()
+        // Count first so shares of unknown posts are never logged
+        if (engagementCounters.incrementShares(id)) {
+            shareRepository.insert(Share.builder()
+                    .postId(id)
                     .userId(userId)
                     .sharedAt(Instant.now())
                     .sharedTo(sharedTo)
-                    .build();
-            
-            post.getShares().add(share);
-            post.setShareCount(post.getShareCount() + 1);
-            postRepository.save(post);
-            log.info("User " + userId + " shared post " + id + " to " + sharedTo);
-        }
-    }
-
-    @Override
-    public List<PostResponseDto> getPersonalizedFeed(FeedRequestDto req) {
-        // Personalized feed: 
-        // 1. Get all posts
-        // 2. Sort by creation date (newest first)
-        // 3. Apply pagination
-        // 4. Boost posts with more engagement (likes, comments, shares)
-        
-        List<Post> allPosts = postRepository.findAll();
-        
-        // Sort by engagement score (likes + comments + shares) and creation date
-        List<Post> sortedPosts = allPosts.stream()
-            .sorted((p1, p2) -> {
-                int score1 = p1.getLikes() + (p1.getComments() != null ? p1.getComments().size() : 0) + p1.getShareCount();
-                int score2 = p2.getLikes() + (p2.getComments() != null ? p2.getComments().size() : 0) + p2.getShareCount();
-                
-                if (score1 != score2) {
-                    return Integer.compare(score2, score1); // Higher engagement first
-                }
-                // If engagement is same, sort by creation date
-                return p2.getCreatedAt().compareTo(p1.getCreatedAt());
-            })
-            .collect(Collectors.toList());
-        
-        // Apply pagination
-        int page = req.getPage() > 0 ? req.getPage() : 0;
+                    .build());
+            PostEvent shared = PostEvent.of(PostEvent.Type.SHARED, id, userId);
+            shared.setSharedTo(sharedTo);
+            publish(shared);
+            log.debug("User {} shared post {} to {}", userId, id, sharedTo);
+        }
+    }
+
+    @Override
+    public List<EngagementResultDto> applyEngagement(BatchEngagementRequestDto req) {
+        List<EngagementOpDto> ops = req.getOps() != null ? req.getOps() : List.of();
+        checkBatchSize(ops.size());
+        EngagementResultDto.Status[] statuses = new EngagementResultDto.Status[ops.size()];
+        Set<String> existing = postRepository.findExistingIds(ops.stream()
+            .map(EngagementOpDto::getPostId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+
+        // Group the valid ops by type. Likes and shares are written with one bulk call per group,
+        // unlikes with one atomic delete per pair so concurrent unlikes count a like only once.
+        // Likes are applied before unlikes, so the order between the two is not kept within a batch.
+        List<Integer> likeOps = new ArrayList<>();
+        List<Integer> unlikeOps = new ArrayList<>();
+        List<Integer> shareOps = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            EngagementOpDto op = ops.get(i);
+            if (!isValid(op)) {
+                statuses[i] = EngagementResultDto.Status.INVALID;
+            } else if (!existing.contains(op.getPostId())) {
+                statuses[i] = EngagementResultDto.Status.NOT_FOUND;
+            } else if (op.getType() == EngagementOpDto.Type.LIKE) {
+                likeOps.add(i);
+            } else if (op.getType() == EngagementOpDto.Type.UNLIKE) {
+                unlikeOps.add(i);
+            } else {
+                shareOps.add(i);
+            }
+        }
+
+        Map<String, long[]> counts = new HashMap<>();
+        Instant now = Instant.now();
+        List<Boolean> liked = postLikeRepository.insertNew(likeOps.stream()
+            .map(i -> PostLike.builder()
+                .postId(ops.get(i).getPostId())
+                .userId(ops.get(i).getUserId())
+                .createdAt(now)
+                .build())
+            .collect(Collectors.toList()));
+        for (int j = 0; j < likeOps.size(); j++) {
+            statuses[likeOps.get(j)] = count(counts, ops.get(likeOps.get(j)).getPostId(), liked.get(j), 1, 0);
+        }
+        List<Boolean> unliked = postLikeRepository.deleteExisting(unlikeOps.stream()
+            .map(i -> PostLike.builder()
+                .postId(ops.get(i).getPostId())
+                .userId(ops.get(i).getUserId())
+                .build())
+            .collect(Collectors.toList()));
+        for (int j = 0; j < unlikeOps.size(); j++) {
+            statuses[unlikeOps.get(j)] = count(counts, ops.get(unlikeOps.get(j)).getPostId(), unliked.get(j), -1, 0);
+        }
+        if (!shareOps.isEmpty()) {
+            shareRepository.insert(shareOps.stream()
+                .map(i -> Share.builder()
+                    .postId(ops.get(i).getPostId())
+                    .userId(ops.get(i).getUserId())
+                    .sharedAt(now)
+                    .sharedTo(ops.get(i).getSharedTo())
+                    .build())
+                .collect(Collectors.toList()));
+            for (int i : shareOps) {
+                statuses[i] = count(counts, ops.get(i).getPostId(), true, 0, 1);
+            }
+        }
+        engagementCounters.incrementAll(counts.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey,
+                e -> new EngagementCounterBuffer.Delta(e.getValue()[0], e.getValue()[1]))));
+        postEventRepository.append(engagementEvents(ops, statuses));
+        log.debug("Applied {} of {} engagement ops on {} posts",
+            likeOps.size() + unlikeOps.size() + shareOps.size(), ops.size(), counts.size());
+
+        List<EngagementResultDto> results = new ArrayList<>(ops.size());
+        for (int i = 0; i < ops.size(); i++) {
+            EngagementOpDto op = ops.get(i);
+            results.add(EngagementResultDto.builder()
+                .type(op != null ? op.getType() : null)
+                .postId(op != null ? op.getPostId() : null)
+                .userId(op != null ? op.getUserId() : null)
+                .status(statuses[i])
+                .build());
+        }
+        return results;
+    }
+
+    // one event per applied op, appended with a single insert
+    private static List<PostEvent> engagementEvents(List<EngagementOpDto> ops, EngagementResultDto.Status[] statuses) {
+        List<PostEvent> events = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            if (statuses[i] != EngagementResultDto.Status.APPLIED) {
+                continue;
+            }
+            EngagementOpDto op = ops.get(i);
+            PostEvent.Type type = switch (op.getType()) {
+                case LIKE -> PostEvent.Type.LIKED;
+                case UNLIKE -> PostEvent.Type.UNLIKED;
+                case SHARE -> PostEvent.Type.SHARED;
+            };
+            PostEvent event = PostEvent.of(type, op.getPostId(), op.getUserId());
+            event.setSharedTo(op.getSharedTo());
+            events.add(event);
+        }
+        return events;
+    }
+
+    // record the change in the post_events outbox right after the write it describes
+    private void publish(PostEvent event) {
+        postEventRepository.append(List.of(event));
+    }
+
+    private static boolean isValid(EngagementOpDto op) {
+        return op != null && op.getType() != null && op.getPostId() != null && op.getUserId() != null
+            && (op.getType() != EngagementOpDto.Type.SHARE || op.getSharedTo() != null);
+    }
+
+    // add the like and share deltas of an applied op to its post's totals
+    private static EngagementResultDto.Status count(Map<String, long[]> counts, String postId, boolean applied,
+                                                    int likes, int shares) {
+        if (!applied) {
+            return EngagementResultDto.Status.UNCHANGED;
+        }
+        long[] total = counts.computeIfAbsent(postId, k -> new long[2]);
+        total[0] += likes;
+        total[1] += shares;
+        return EngagementResultDto.Status.APPLIED;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + size + " exceeds the limit of " + maxBatchSize);
+        }
+    }
+
+    @Override
+    public CursorPageDto<PostShareDto> getShares(String id, String cursor, int pageSize) {
+        int size = pageSize > 0 ? pageSize : 10;
+        List<Share> shares = shareRepository.findHistory(id, PageCursor.decode(cursor), size + 1);
+        List<Share> page = shares.subList(0, Math.min(size, shares.size()));
+
+        String nextCursor = null;
+        if (shares.size() > size) {
+            Share last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(0, last.getSharedAt(), last.getId()).encode();
+        }
+        return CursorPageDto.<PostShareDto>builder()
+            .items(page.stream()
+                .map(sh -> PostShareDto.builder()
+                    .userId(sh.getUserId())
+                    .sharedTo(sh.getSharedTo())
+                    .sharedAt(sh.getSharedAt())
+                    .build())
+                .collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    @Override
+    public CursorPageDto<PostResponseDto> getPersonalizedFeed(FeedRequestDto req) {
+        // Identical concurrent requests share one build
+        return feedLoads.execute(req, () -> buildPersonalizedFeed(req));
+    }
+
+    private CursorPageDto<PostResponseDto> buildPersonalizedFeed(FeedRequestDto req) {
+        // Personalized feed:
+        // 1. Read the user's bounded timeline window (newest post ids)
+        // 2. Rank the window in Mongo by the stored, time-decayed hot score, then newest first
+        // 3. Continue after the cursor, or apply page offset when there is none
+        // 4. Hydrate only that page, from the post cache where possible
+        // 5. Fill in the current author profiles, from the profile cache where possible
+
         int pageSize = req.getPageSize() > 0 ? req.getPageSize() : 10;
-        int start = page * pageSize;
-        int end = Math.min(start + pageSize, sortedPosts.size());
-        
-        if (start >= sortedPosts.size()) {
-            return new ArrayList<>();
-        }
-        
-        return sortedPosts.subList(start, end).stream()
-            .map(p -> convertToResponseDto(p, req.getUserId()))
+        PageCursor after = PageCursor.decode(req.getCursor());
+        int skip = after == null && req.getPage() > 0 ? req.getPage() * pageSize : 0;
+        List<String> timeline = postMetrics.stage(PostMetrics.FETCH, () -> timelineService.getTimeline(req.getUserId()));
+        List<Post> ranked = postMetrics.stage(PostMetrics.RANK,
+            () -> postRepository.findRanked(timeline, after, skip, pageSize + 1));
+        List<Post> rankedPage = ranked.subList(0, Math.min(pageSize, ranked.size()));
+
+        String nextCursor = null;
+        if (ranked.size() > pageSize) {
+            Post last = rankedPage.get(rankedPage.size() - 1);
+            nextCursor = cursorOf(last, last.getHotScore()).encode();
+        }
+        List<PostSummary> page = postMetrics.stage(PostMetrics.HYDRATE, () -> postCache.getAll(
+            rankedPage.stream().map(Post::getId).collect(Collectors.toList()), this::loadSummaries));
+        Set<String> liked = postMetrics.stage(PostMetrics.LIKES, () -> likedPostIds(req.getUserId(), page));
+        List<PostResponseDto> items = postMetrics.stage(PostMetrics.MAP, () -> page.stream()
+            .map(p -> convertToResponseDto(p, liked.contains(p.getId())))
+            .collect(Collectors.toList()));
+        // one batch call for the authors missing from the profile cache
+        postMetrics.stage(PostMetrics.PROFILES, () -> {
+            profileCache.hydrate(items);
+            return items;
+        });
+        return CursorPageDto.<PostResponseDto>builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    // Streaming reads: posts are pulled from a Mongo cursor and handed to the sink one at a time,
+    // so only one chunk of STREAM_CHUNK_SIZE posts is held at once whatever the result size.
+    // The sink writes to the response, so a slow client slows the cursor down with it.
+
+    @Override
+    public void streamPersonalizedFeed(FeedRequestDto req, Consumer<PostResponseDto> sink) {
+        try (Stream<Post> ranked = postRepository.streamRanked(timelineService.getTimeline(req.getUserId()))) {
+            forEachChunk(ranked.map(Post::getId), ids -> {
+                List<PostSummary> chunk = postCache.getAll(ids, this::loadSummaries);
+                Set<String> liked = likedPostIds(req.getUserId(), chunk);
+                List<PostResponseDto> items = chunk.stream()
+                    .map(p -> convertToResponseDto(p, liked.contains(p.getId())))
+                    .collect(Collectors.toList());
+                profileCache.hydrate(items);
+                items.forEach(sink);
+            });
+        }
+    }
+
+    @Override
+    public void streamData(SearchPostRequestDto req, Consumer<PostResponseDto> sink) {
+        try (Stream<PostSummary> posts = postRepository.streamSearch(req)) {
+            forEachChunk(posts, chunk -> emitWithProfiles(chunk, sink));
+        }
+    }
+
+    @Override
+    public void exportByAuthor(String authorId, Consumer<PostResponseDto> sink) {
+        try (Stream<PostSummary> posts = postRepository.streamByAuthor(authorId)) {
+            forEachChunk(posts, chunk -> emitWithProfiles(chunk, sink));
+        }
+    }
+
+    // one profile lookup per chunk, so streamed posts carry author names like the paged reads
+    private void emitWithProfiles(List<PostSummary> chunk, Consumer<PostResponseDto> sink) {
+        List<PostResponseDto> items = chunk.stream()
+            .map(p -> convertToResponseDto(p, false))
             .collect(Collectors.toList());
+        profileCache.hydrate(items);
+        items.forEach(sink);
+    }
+
+    private static <T> void forEachChunk(Stream<T> items, Consumer<List<T>> action) {
+        List<T> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        items.forEach(item -> {
+            chunk.add(item);
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                action.accept(List.copyOf(chunk));
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            action.accept(List.copyOf(chunk));
+        }
     }
-}
 
+    // Bring posts stored by earlier versions up to the current document layout
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPosts() {
+        shareRepository.ensureShareLog();
+        long updated = postRepository.backfillEngagementScores();
+        if (updated > 0) {
+            log.info("Backfilled engagementScore on {} posts", updated);
+        }
+        long unranked = postRepository.markMissingHotScoresStale();
+        if (unranked > 0) {
+            log.info("Queued {} posts for their first hot score", unranked);
+        }
+        long moved = postRepository.moveLegacyLikes();
+        if (moved > 0) {
+            log.info("Moved embedded likes of {} posts to post_likes", moved);
+        }
+        long movedComments = postRepository.moveLegacyComments(recentComments);
+        if (movedComments > 0) {
+            log.info("Moved embedded comments of {} posts to post_comments", movedComments);
+        }
+        long movedShares = postRepository.moveLegacyShares();
+        if (movedShares > 0) {
+            log.info("Moved embedded shares of {} posts to post_shares", movedShares);
+        }
+    }
+
+    // Cache loaders: reads from Mongo, recorded in the fetched likes/comments histograms
+    private Optional<PostSummary> loadSummary(String id) {
+        Optional<PostSummary> post = postRepository.findSummaryById(id);
+        post.ifPresent(postMetrics::fetched);
+        return post;
+    }
+
+    private Map<String, PostSummary> loadSummaries(Set<String> ids) {
+        List<PostSummary> posts = postRepository.findSummariesByIdIn(ids);
+        posts.forEach(postMetrics::fetched);
+        return posts.stream().collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+    }
+
+    // Ids of the given posts liked by the user, resolved with one covered index query
+    private Set<String> likedPostIds(String userId, List<PostSummary> posts) {
+        if (userId == null || posts.isEmpty()) {
+            return Set.of();
+        }
+        List<String> postIds = posts.stream().map(PostSummary::getId).collect(Collectors.toList());
+        return postLikeRepository.findLikedPostIds(userId, postIds);
+    }
+
+    private static PageCursor cursorOf(Post post, double score) {
+        return new PageCursor(score, post.getCreatedAt(), post.getId());
+    }
+}
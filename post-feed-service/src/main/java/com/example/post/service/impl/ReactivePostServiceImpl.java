@@ -0,0 +1,196 @@
+package com.example.post.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.example.post.cache.PostCache;
+import com.example.post.dto.CursorPageDto;
+import com.example.post.dto.FeedRequestDto;
+import com.example.post.dto.PageCursor;
+import com.example.post.dto.PostResponseDto;
+import com.example.post.dto.SearchPostRequestDto;
+import com.example.post.model.Post;
+import com.example.post.model.PostSummary;
+import com.example.post.model.Timeline;
+import com.example.post.profile.ProfileCache;
+import com.example.post.repository.ReactivePostLikeRepository;
+import com.example.post.repository.ReactivePostRepository;
+import com.example.post.repository.ReactiveTimelineRepository;
+import com.example.post.service.ReactivePostService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactivePostServiceImpl implements ReactivePostService {
+    // posts hydrated per round trip when streaming a feed
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    private final ReactivePostRepository postRepository;
+    private final ReactivePostLikeRepository postLikeRepository;
+    private final ReactiveTimelineRepository timelineRepository;
+    private final PostCache postCache;
+    private final PostServiceImpl postService;
+    private final ProfileCache profileCache;
+
+    @Override
+    public Mono<HashMap<String, Object>> findData(SearchPostRequestDto req) {
+        int pageSize = req.getPageSize() > 0 ? req.getPageSize() : 10;
+        Mono<List<PostSummary>> posts = cursor(req.getCursor())
+            .flatMap(after -> postRepository.search(req, after.orElse(null), pageSize + 1).collectList());
+        return Mono.zip(posts, postRepository.countMatches(req))
+            .flatMap(found -> {
+                List<PostSummary> page = found.getT1().subList(0, Math.min(pageSize, found.getT1().size()));
+                String nextCursor = null;
+                if (found.getT1().size() > pageSize) {
+                    PostSummary last = page.get(page.size() - 1);
+                    double score = last.getScore() != null ? last.getScore() : 0;
+                    nextCursor = new PageCursor(score, last.getCreatedAt(), last.getId()).encode();
+                }
+                String cursor = nextCursor;
+                return withProfiles(page.stream()
+                        .map(p -> postService.convertToResponseDto(p, false))
+                        .collect(Collectors.toList()))
+                    .map(items -> {
+                        HashMap<String, Object> result = new HashMap<>();
+                        result.put("total", found.getT2());
+                        result.put("posts", items);
+                        result.put("nextCursor", cursor);
+                        return result;
+                    });
+            });
+    }
+
+    @Override
+    public Flux<PostResponseDto> streamData(SearchPostRequestDto req) {
+        return withProfilesInChunks(postRepository.streamSearch(req));
+    }
+
+    @Override
+    public Mono<PostResponseDto> getById(String id) {
+        // a viral post's misses share one query, like the blocking PostCache.get
+        return postCache.getMono(id, postRepository::findSummaryById)
+            .map(p -> postService.convertToResponseDto(p, false))
+            .flatMap(p -> withProfiles(List.of(p)))
+            .map(items -> items.get(0));
+    }
+
+    @Override
+    public Mono<CursorPageDto<PostResponseDto>> getPersonalizedFeed(FeedRequestDto req) {
+        // Same steps as PostServiceImpl: timeline window, ranked in Mongo, one page hydrated
+        int pageSize = req.getPageSize() > 0 ? req.getPageSize() : 10;
+        return cursor(req.getCursor())
+            .flatMap(after -> {
+                int skip = after.isPresent() ? 0 : Math.max(req.getPage(), 0) * pageSize;
+                return timeline()
+                    .flatMap(ids -> postRepository.findRanked(ids, after.orElse(null), skip, pageSize + 1).collectList());
+            })
+            .flatMap(ranked -> {
+                List<Post> rankedPage = ranked.subList(0, Math.min(pageSize, ranked.size()));
+                String nextCursor = null;
+                if (ranked.size() > pageSize) {
+                    Post last = rankedPage.get(rankedPage.size() - 1);
+                    nextCursor = new PageCursor(last.getHotScore(), last.getCreatedAt(), last.getId()).encode();
+                }
+                String cursor = nextCursor;
+                return hydrate(rankedPage.stream().map(Post::getId).collect(Collectors.toList()), req.getUserId())
+                    .map(items -> CursorPageDto.<PostResponseDto>builder()
+                        .items(items)
+                        .nextCursor(cursor)
+                        .build());
+            });
+    }
+
+    @Override
+    public Flux<PostResponseDto> streamPersonalizedFeed(FeedRequestDto req) {
+        // the cursor is only read as fast as the client consumes the hydrated chunks
+        return timeline()
+            .flatMapMany(ids -> postRepository.findRanked(ids, null, 0, 0))
+            .map(Post::getId)
+            .buffer(STREAM_CHUNK_SIZE)
+            .concatMap(chunk -> hydrate(chunk, req.getUserId()))
+            .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<PostResponseDto> exportByAuthor(String authorId) {
+        return withProfilesInChunks(postRepository.streamByAuthor(authorId));
+    }
+
+    // one profile lookup per STREAM_CHUNK_SIZE posts, as streamPersonalizedFeed does
+    private Flux<PostResponseDto> withProfilesInChunks(Flux<PostSummary> posts) {
+        return posts
+            .map(p -> postService.convertToResponseDto(p, false))
+            .buffer(STREAM_CHUNK_SIZE)
+            .concatMap(this::withProfiles)
+            .flatMapIterable(Function.identity());
+    }
+
+    // decoded lazily so an invalid token fails the subscriber instead of the caller
+    private static Mono<Optional<PageCursor>> cursor(String token) {
+        return Mono.fromCallable(() -> Optional.ofNullable(PageCursor.decode(token)));
+    }
+
+    // The global timeline window, which every user reads like in TimelineServiceImpl
+    private Mono<List<String>> timeline() {
+        return timelineRepository.findById(Timeline.GLOBAL_ID)
+            .map(Timeline::getPostIds)
+            .defaultIfEmpty(List.of());
+    }
+
+    // Posts of ids in that order: cache hits first, then one $in for the misses, plus one covered
+    // query for the liked flags
+    private Mono<List<PostResponseDto>> hydrate(List<String> ids, String userId) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Map<String, PostSummary> cached = postCache.getAllPresent(ids);
+        Map<String, Long> missing = new HashMap<>();
+        for (String id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.put(id, postCache.generation(id));
+            }
+        }
+        Mono<Map<String, PostSummary>> posts = missing.isEmpty()
+            ? Mono.just(cached)
+            : postRepository.findSummariesByIdIn(missing.keySet())
+                .doOnNext(p -> postCache.putLoaded(p, missing.get(p.getId())))
+                .collectMap(PostSummary::getId)
+                .map(loaded -> {
+                    Map<String, PostSummary> all = new HashMap<>(cached);
+                    all.putAll(loaded);
+                    return all;
+                });
+        Mono<Set<String>> liked = userId == null
+            ? Mono.just(Set.of())
+            : postLikeRepository.findLikedPostIds(userId, ids);
+        return Mono.zip(posts, liked)
+            .map(found -> ids.stream()
+                .map(found.getT1()::get)
+                .filter(Objects::nonNull)
+                .map(p -> postService.convertToResponseDto(p, found.getT2().contains(p.getId())))
+                .collect(Collectors.toList()))
+            .flatMap(this::withProfiles);
+    }
+
+    // ProfileCache may call auth-user-service over blocking HTTP, so it runs off the event loop
+    private Mono<List<PostResponseDto>> withProfiles(List<PostResponseDto> items) {
+        return Mono.fromCallable(() -> {
+            profileCache.hydrate(items);
+            return items;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
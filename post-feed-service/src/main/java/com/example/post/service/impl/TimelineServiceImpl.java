@@ -0,0 +1,111 @@
+package com.example.post.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.example.post.model.Post;
+import com.example.post.model.Timeline;
+import com.example.post.repository.TimelineRepository;
+import com.example.post.service.TimelineService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TimelineServiceImpl implements TimelineService {
+    private final TimelineRepository timelineRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.feed.timeline-size:500}")
+    private int timelineSize;
+
+    // Push the new post id to the head of the global timeline, keeping it bounded. There is no follow
+    // graph yet, so every user's timeline would be a copy of it; one write per post instead of one
+    // per user. A timeline already holding the id is skipped, so a redelivered event changes nothing.
+    @Override
+    public void fanOut(String postId) {
+        Update push = pushHead(postId);
+        try {
+            mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(Timeline.GLOBAL_ID).and("postIds").ne(postId)), push, Timeline.class);
+        } catch (DuplicateKeyException e) {
+            // the global timeline exists and already holds the post
+        }
+    }
+
+    // Pull a deleted post id from the global timeline
+    @Override
+    public void remove(String postId) {
+        Update pull = new Update()
+            .pull("postIds", postId)
+            .set("updatedAt", Instant.now());
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(Timeline.GLOBAL_ID).and("postIds").is(postId)), pull, Timeline.class);
+    }
+
+    // Return the bounded post id window of the global timeline. Every user reads it until an audience
+    // or follow relation exists, which is when per-user timelines start to differ from it.
+    @Override
+    public List<String> getTimeline(String userId) {
+        return postIdsOf(timelineRepository.findById(Timeline.GLOBAL_ID));
+    }
+
+    // Seed the global timeline from the newest posts when the store is empty (first start after upgrade)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedGlobalTimeline() {
+        if (timelineRepository.existsById(Timeline.GLOBAL_ID)) {
+            return;
+        }
+        Query newest = new Query()
+            .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+            .limit(timelineSize);
+        newest.fields().include("_id");
+        List<String> postIds = mongoTemplate.find(newest, Post.class).stream()
+            .map(Post::getId)
+            .toList();
+        timelineRepository.save(Timeline.builder()
+            .userId(Timeline.GLOBAL_ID)
+            .postIds(new ArrayList<>(postIds))
+            .updatedAt(Instant.now())
+            .build());
+        log.info("Seeded global timeline with {} posts", postIds.size());
+    }
+
+    // Drop per-user copies of the global timeline materialized by earlier versions, nothing reads them
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropUserTimelines() {
+        long dropped = mongoTemplate.remove(new Query(Criteria.where("_id").ne(Timeline.GLOBAL_ID)), Timeline.class)
+            .getDeletedCount();
+        if (dropped > 0) {
+            log.info("Dropped {} per-user timelines, every user reads the global timeline", dropped);
+        }
+    }
+
+    private Update pushHead(String postId) {
+        Update update = new Update();
+        update.push("postIds").atPosition(0).slice(timelineSize).each(postId);
+        update.set("updatedAt", Instant.now());
+        return update;
+    }
+
+    private List<String> postIdsOf(Optional<Timeline> timeline) {
+        return timeline
+            .map(Timeline::getPostIds)
+            .orElseGet(ArrayList::new);
+    }
+}
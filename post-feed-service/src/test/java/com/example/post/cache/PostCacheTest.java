@@ -0,0 +1,104 @@
+package com.example.post.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.post.model.PostSummary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostCacheTest {
+    private final PostCache cache = new PostCache(1024 * 1024, new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadDoesNotOverwriteAPutMadeWhileItRan() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Future<Optional<PostSummary>> load = executor.submit(() -> cache.get("p1", id -> {
+            loading.countDown();
+            await(written);
+            return Optional.of(post(id, 1)); // read before the update below
+        }));
+
+        loading.await(5, TimeUnit.SECONDS);
+        cache.put(post("p1", 2));
+        written.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).map(PostSummary::getLikes).contains(1);
+        assertThat(cache.getAllPresent(List.of("p1")).get("p1").getLikes()).isEqualTo(2);
+    }
+
+    @Test
+    void loadDoesNotRestoreAnEntryInvalidatedWhileItRan() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Future<Optional<PostSummary>> load = executor.submit(() -> cache.get("p1", id -> {
+            loading.countDown();
+            await(written);
+            return Optional.of(post(id, 1));
+        }));
+
+        loading.await(5, TimeUnit.SECONDS);
+        cache.invalidate("p1");
+        written.countDown();
+
+        load.get(5, TimeUnit.SECONDS);
+        assertThat(cache.getAllPresent(List.of("p1"))).isEmpty();
+    }
+
+    @Test
+    void bulkLoadSkipsOnlyThePostsWrittenWhileItRan() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Future<List<PostSummary>> load = executor.submit(() -> cache.getAll(List.of("p1", "p2"), ids -> {
+            loading.countDown();
+            await(written);
+            return Map.of("p1", post("p1", 1), "p2", post("p2", 1));
+        }));
+
+        loading.await(5, TimeUnit.SECONDS);
+        cache.invalidate("p1");
+        written.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).hasSize(2);
+        Map<String, PostSummary> cached = cache.getAllPresent(List.of("p1", "p2"));
+        assertThat(cached).doesNotContainKey("p1");
+        assertThat(cached.get("p2").getLikes()).isEqualTo(1);
+    }
+
+    @Test
+    void loadWithoutConcurrentWritesIsCached() {
+        cache.get("p1", id -> Optional.of(post(id, 1)));
+
+        assertThat(cache.get("p1", id -> Optional.of(post(id, 99)))).map(PostSummary::getLikes).contains(1);
+    }
+
+    private static PostSummary post(String id, int likes) {
+        return PostSummary.builder().id(id).likes(likes).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
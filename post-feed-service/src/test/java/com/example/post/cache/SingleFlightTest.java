@@ -0,0 +1,81 @@
+package com.example.post.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SingleFlightTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waiterIsReleasedWhenTheLoaderThrowsAnError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        ExecutorService waiterThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> waiter = waiterThread.submit(() -> singleFlight.execute("k", () -> "unused"));
+            while (meterRegistry.counter("post.singleflight.coalesced", "name", "test").count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        } finally {
+            waiterThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentMonoSubscribersShareOneLoad() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> load = result.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        var first = singleFlight.executeMono("k", () -> load).toFuture();
+        var second = singleFlight.executeMono("k", () -> load).toFuture();
+        result.tryEmitValue("post");
+
+        assertThat(first.join()).isEqualTo("post");
+        assertThat(second.join()).isEqualTo("post");
+        assertThat(subscriptions).hasValue(1);
+
+        // the entry is dropped once the load completes, so a later miss queries again
+        assertThat(singleFlight.executeMono("k", () -> Mono.just("reloaded")).block()).isEqualTo("reloaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
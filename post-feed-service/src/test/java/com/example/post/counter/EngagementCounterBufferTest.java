@@ -0,0 +1,149 @@
+package com.example.post.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.example.post.cache.PostCache;
+import com.example.post.repository.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EngagementCounterBufferTest {
+    private final PostRepository postRepository = mock(PostRepository.class);
+    // one stripe, so every flush writes all posts with one bulk
+    private final EngagementCounterBuffer buffer =
+        new EngagementCounterBuffer(postRepository, new PostCache(1024 * 1024, new SimpleMeterRegistry()), true, 1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService reader = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+        reader.shutdownNow();
+    }
+
+    @Test
+    void flushWritesTheSummedDeltasAndClearsThem() {
+        buffer.addLikes("p1", 1);
+        buffer.addLikes("p1", 1);
+        buffer.addShares("p1", 1);
+        buffer.addLikes("p2", -1);
+        when(postRepository.incrementCounters(anyMap())).thenReturn(Set.of());
+
+        buffer.flush();
+
+        verify(postRepository).incrementCounters(Map.of(
+            "p1", new EngagementCounterBuffer.Delta(2, 1),
+            "p2", new EngagementCounterBuffer.Delta(-1, 0)));
+        assertThat(buffer.pending("p1")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        assertThat(buffer.pending("p2")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+    }
+
+    @Test
+    void partialFailureKeepsOnlyTheFailedPosts() {
+        buffer.addLikes("p1", 2);
+        buffer.addLikes("p2", 3);
+        buffer.addShares("p3", 1);
+        when(postRepository.incrementCounters(anyMap())).thenReturn(Set.of("p2"));
+
+        buffer.flush();
+
+        assertThat(buffer.pending("p1")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        assertThat(buffer.pending("p2")).isEqualTo(new EngagementCounterBuffer.Delta(3, 0));
+        assertThat(buffer.pending("p3")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+
+        // the retry carries the failed post alone, the applied ones are not counted twice
+        when(postRepository.incrementCounters(anyMap())).thenReturn(Set.of());
+        buffer.flush();
+        verify(postRepository).incrementCounters(Map.of("p2", new EngagementCounterBuffer.Delta(3, 0)));
+        assertThat(buffer.pending("p2")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+    }
+
+    @Test
+    void failedBulkKeepsEveryPost() {
+        buffer.addLikes("p1", 2);
+        buffer.addShares("p2", 1);
+        when(postRepository.incrementCounters(anyMap())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        buffer.flush();
+
+        assertThat(buffer.pending("p1")).isEqualTo(new EngagementCounterBuffer.Delta(2, 0));
+        assertThat(buffer.pending("p2")).isEqualTo(new EngagementCounterBuffer.Delta(0, 1));
+    }
+
+    @Test
+    void pendingIncludesTheDeltasOfAFlushInProgress() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(postRepository.incrementCounters(anyMap())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Set.of();
+        });
+        buffer.addLikes("p1", 2);
+
+        Future<?> flush = executor.submit(buffer::flush);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        buffer.addLikes("p1", 1);
+
+        // the flushing delta and the one added after the swap are both visible
+        assertThat(buffer.pending("p1")).isEqualTo(new EngagementCounterBuffer.Delta(3, 0));
+
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        assertThat(buffer.pending("p1")).isEqualTo(new EngagementCounterBuffer.Delta(1, 0));
+    }
+
+    @Test
+    void appliedDeltaLeavesPendingTogetherWithTheCachedPost() throws Exception {
+        PostCache postCache = mock(PostCache.class);
+        EngagementCounterBuffer buffer = new EngagementCounterBuffer(postRepository, postCache, true, 1);
+        CountDownLatch invalidating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            invalidating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(postCache).invalidateAll(anyCollection());
+        when(postRepository.incrementCounters(anyMap())).thenReturn(Set.of());
+        buffer.addLikes("p1", 2);
+
+        Future<?> flush = executor.submit(buffer::flush);
+        assertThat(invalidating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the delta is in Mongo already, a read waits until it left the buffer along with the cached post
+        Future<EngagementCounterBuffer.Delta> read = reader.submit(() -> buffer.pending("p1"));
+        Thread.sleep(100);
+        assertThat(read.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(read.get(5, TimeUnit.SECONDS)).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        flush.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void disabledBufferHasNothingPending() {
+        EngagementCounterBuffer disabled =
+            new EngagementCounterBuffer(postRepository, new PostCache(1024, new SimpleMeterRegistry()), false, 4);
+        disabled.addLikes("p1", 1);
+
+        assertThat(disabled.pending("p1")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.post.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.post.cache.PostCache;
+import com.example.post.repository.PostCounterShardRepository;
+import com.example.post.repository.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ShardedCountersTest {
+    private final PostCounterShardRepository shardRepository = mock(PostCounterShardRepository.class);
+    private final ShardedCounters shards = new ShardedCounters(shardRepository, mock(PostRepository.class),
+        new PostCache(1024 * 1024, new SimpleMeterRegistry()), new SimpleMeterRegistry(), true, 8, 50, 60);
+
+    @Test
+    void pendingNeverReadsMongo() {
+        shards.add("p1", 1, 0);
+
+        assertThat(shards.pending("p1")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        assertThat(shards.pending("p2")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        verify(shardRepository).increment(eq("p1"), intThat(shard -> shard >= 0 && shard < 8), eq(1L), eq(0L));
+    }
+
+    @Test
+    void detectRefreshesTheSumsOfAllShardedPostsWithOneQuery() {
+        shards.add("p1", 1, 0);
+        shards.add("p2", 0, 1);
+        when(shardRepository.sumByPostIds(anyCollection())).thenReturn(Map.of(
+            "p1", new EngagementCounterBuffer.Delta(5, 0),
+            "p2", new EngagementCounterBuffer.Delta(0, 2)));
+
+        shards.detect();
+
+        verify(shardRepository, times(1)).sumByPostIds(Set.of("p1", "p2"));
+        assertThat(shards.pending("p1")).isEqualTo(new EngagementCounterBuffer.Delta(5, 0));
+        assertThat(shards.pending("p2")).isEqualTo(new EngagementCounterBuffer.Delta(0, 2));
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousSums() {
+        shards.add("p1", 1, 0);
+        when(shardRepository.sumByPostIds(anyCollection()))
+            .thenReturn(Map.of("p1", new EngagementCounterBuffer.Delta(5, 0)))
+            .thenThrow(new IllegalStateException("down"));
+        shards.detect();
+
+        shards.detect();
+
+        assertThat(shards.pending("p1")).isEqualTo(new EngagementCounterBuffer.Delta(5, 0));
+    }
+
+    @Test
+    void disabledShardsReadNothing() {
+        ShardedCounters disabled = new ShardedCounters(shardRepository, mock(PostRepository.class),
+            new PostCache(1024, new SimpleMeterRegistry()), new SimpleMeterRegistry(), false, 8, 50, 60);
+
+        assertThat(disabled.pending("p1")).isSameAs(EngagementCounterBuffer.Delta.NONE);
+        verifyNoInteractions(shardRepository);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.post.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.example.post.dto.AuthorProfileDto;
+import com.example.post.dto.PostResponseDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProfileCacheTest {
+    private final ProfileClient profileClient = mock(ProfileClient.class);
+
+    @Test
+    void failedLookupIsNotRetriedWithinTheBackoff() {
+        ProfileCache cache = cache(60_000);
+        when(profileClient.fetch(anyCollection())).thenThrow(new ResourceAccessException("timed out"));
+
+        List<PostResponseDto> first = page("1");
+        cache.hydrate(first);
+        List<PostResponseDto> second = page("1");
+        cache.hydrate(second);
+
+        verify(profileClient, times(1)).fetch(anyCollection());
+        assertThat(first.get(0).getAuthorName()).isEqualTo("stored");
+        assertThat(second.get(0).getAuthorName()).isEqualTo("stored");
+    }
+
+    @Test
+    void cachedProfilesAreServedWithinTheBackoff() {
+        ProfileCache cache = cache(60_000);
+        when(profileClient.fetch(anyCollection()))
+            .thenReturn(Map.of("1", profile(1, "alice")))
+            .thenThrow(new ResourceAccessException("timed out"));
+        cache.hydrate(page("1"));
+        cache.hydrate(page("2"));
+
+        List<PostResponseDto> page = page("1", "2");
+        cache.hydrate(page);
+
+        verify(profileClient, times(2)).fetch(anyCollection());
+        assertThat(page).extracting(PostResponseDto::getAuthorName).containsExactly("alice", "stored");
+    }
+
+    @Test
+    void lookupIsRetriedAfterTheBackoff() {
+        ProfileCache cache = cache(0);
+        when(profileClient.fetch(anyCollection()))
+            .thenThrow(new ResourceAccessException("timed out"))
+            .thenReturn(Map.of("1", profile(1, "alice")));
+        cache.hydrate(page("1"));
+
+        List<PostResponseDto> page = page("1");
+        cache.hydrate(page);
+
+        assertThat(page.get(0).getAuthorName()).isEqualTo("alice");
+    }
+
+    private ProfileCache cache(long failureBackoffMs) {
+        return new ProfileCache(profileClient, new SimpleMeterRegistry(), true, 1000, 300, 500, failureBackoffMs);
+    }
+
+    private static List<PostResponseDto> page(String... authorIds) {
+        return Arrays.stream(authorIds)
+            .map(authorId -> PostResponseDto.builder().id("p" + authorId).authorId(authorId).authorName("stored").build())
+            .toList();
+    }
+
+    private static AuthorProfileDto profile(long id, String username) {
+        return AuthorProfileDto.builder().id(id).username(username).build();
+    }
+}
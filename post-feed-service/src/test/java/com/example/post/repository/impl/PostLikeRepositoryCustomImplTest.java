@@ -0,0 +1,49 @@
+package com.example.post.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.post.model.PostLike;
+import com.mongodb.client.result.DeleteResult;
+
+class PostLikeRepositoryCustomImplTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostLikeRepositoryCustomImpl repository = new PostLikeRepositoryCustomImpl(mongoTemplate);
+
+    @Test
+    void deleteExistingReportsOnlyTheLikesThisCallRemoved() {
+        // p2's like was removed by a concurrent unlike between any read and this delete
+        when(mongoTemplate.remove(any(Query.class), eq(PostLike.class)))
+            .thenReturn(DeleteResult.acknowledged(1))
+            .thenReturn(DeleteResult.acknowledged(0));
+
+        List<Boolean> deleted = repository.deleteExisting(List.of(like("p1", "u1"), like("p2", "u1")));
+
+        assertThat(deleted).containsExactly(true, false);
+    }
+
+    @Test
+    void deleteExistingRemovesAPairListedTwiceOnce() {
+        when(mongoTemplate.remove(any(Query.class), eq(PostLike.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        List<Boolean> deleted = repository.deleteExisting(List.of(like("p1", "u1"), like("p1", "u1")));
+
+        assertThat(deleted).containsExactly(true, false);
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(PostLike.class));
+    }
+
+    private static PostLike like(String postId, String userId) {
+        return PostLike.builder().postId(postId).userId(userId).build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.post.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.example.post.counter.EngagementCounterBuffer;
+import com.example.post.model.Comment;
+import com.example.post.model.Post;
+import com.example.post.model.Share;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.result.UpdateResult;
+
+class PostRepositoryCustomImplTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class, RETURNS_SELF);
+    private final PostRepositoryCustomImpl repository = new PostRepositoryCustomImpl(mongoTemplate);
+
+    @Test
+    void incrementCountersReportsThePostsOfFailedUpdates() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(bulkFailure(List.of(error(1), error(3)), null));
+
+        Set<String> failed = repository.incrementCounters(deltas("p0", "p1", "p2", "p3"));
+
+        assertThat(failed).containsExactlyInAnyOrder("p1", "p3");
+    }
+
+    @Test
+    void incrementCountersReportsNothingWhenTheBulkSucceeds() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulk);
+
+        assertThat(repository.incrementCounters(deltas("p0", "p1"))).isEmpty();
+    }
+
+    @Test
+    void incrementCountersTreatsWriteConcernErrorsAsApplied() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(bulkFailure(List.of(),
+            new WriteConcernError(64, "waitForReplication", "timed out", new BsonDocument())));
+
+        assertThat(repository.incrementCounters(deltas("p0"))).isEmpty();
+    }
+
+    @Test
+    void moveLegacyCommentsMergesCopiesOnADeterministicId() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(mongoTemplate.getCollectionName(Comment.class)).thenReturn("post_comments");
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Post.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        repository.moveLegacyComments(3);
+
+        ArgumentCaptor<Aggregation> copy = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(copy.capture(), eq(Post.class), eq(Document.class));
+        List<Document> pipeline = copy.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document id = pipeline.get(2).get("$project", Document.class).get("_id", Document.class);
+        assertThat(id.get("$ifNull", List.class)).first().isEqualTo("$comments._id");
+        Document merge = pipeline.get(3).get("$merge", Document.class);
+        assertThat(merge.get("on")).isEqualTo("_id");
+        assertThat(merge.get("whenMatched")).isEqualTo("keepExisting");
+        assertThat(merge.get("whenNotMatched")).isEqualTo("insert");
+    }
+
+    @Test
+    void moveLegacySharesInsertsOnlyTheSharesMissingFromTheLog() {
+        Instant at = Instant.parse("2024-01-01T00:00:00Z");
+        Document post = new Document("_id", "p1").append("shares", List.of(
+            embeddedShare("u1", at), embeddedShare("u1", at), embeddedShare("u2", at.plusSeconds(60))));
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("posts"))).thenReturn(Stream.of(post));
+        // an interrupted run already logged u2's share and one of u1's two identical shares
+        when(mongoTemplate.find(any(Query.class), eq(Share.class))).thenReturn(List.of(
+            Share.builder().postId("p1").userId("u1").sharedAt(at).sharedTo("feed").build(),
+            Share.builder().postId("p1").userId("u2").sharedAt(at.plusSeconds(60)).sharedTo("feed").build()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Post.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertThat(repository.moveLegacyShares()).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Share>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(mongoTemplate).insert(inserted.capture(), eq(Share.class));
+        assertThat(inserted.getValue()).extracting(Share::getUserId).containsExactly("u1");
+    }
+
+    private static Document embeddedShare(String userId, Instant sharedAt) {
+        return new Document("userId", userId).append("sharedAt", Date.from(sharedAt)).append("sharedTo", "feed");
+    }
+
+    private static Map<String, EngagementCounterBuffer.Delta> deltas(String... postIds) {
+        Map<String, EngagementCounterBuffer.Delta> deltas = new LinkedHashMap<>();
+        for (String postId : postIds) {
+            deltas.put(postId, new EngagementCounterBuffer.Delta(1, 0));
+        }
+        return deltas;
+    }
+
+    private static BulkWriteError error(int index) {
+        return new BulkWriteError(2, "failed", new BsonDocument(), index);
+    }
+
+    private static BulkOperationException bulkFailure(List<BulkWriteError> errors, WriteConcernError writeConcernError) {
+        return new BulkOperationException("bulk failed", new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(), errors, writeConcernError, new ServerAddress(), Set.of()));
+    }
+}
@@ -0,0 +1,122 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Throughput and latency of blocking request handlers on a bounded platform thread pool versus
+ * one virtual thread per request, the two modes of {@code app.threads.virtual.enabled}.
+ *
+ * <p>Each request sleeps for the injected storage delay, standing in for a slow Mongo or
+ * Postgres call. The platform pool has Tomcat's default of 200 threads. Needs only a JDK 21:
+ *
+ * <pre>
+ * java scripts/VirtualThreadsBenchmark.java --delay-ms=50 --concurrency=1000 --requests=20000
+ * </pre>
+ */
+public class VirtualThreadsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            opts.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        int delayMs = Integer.parseInt(opts.getOrDefault("delay-ms", "50"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "1000"));
+        int requests = Integer.parseInt(opts.getOrDefault("requests", "20000"));
+        int platformThreads = Integer.parseInt(opts.getOrDefault("platform-threads", "200"));
+
+        System.out.printf("storage delay %d ms, %d concurrent clients, %d requests%n",
+            delayMs, concurrency, requests);
+        System.out.printf("%-10s %12s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (String mode : new String[] {"platform", "virtual"}) {
+            ExecutorService executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(platformThreads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+            // the first pass warms up the JIT and the connection pool and is not reported
+            run(executor, delayMs, concurrency, Math.min(requests, concurrency * 2));
+            Result result = run(executor, delayMs, concurrency, requests);
+            executor.shutdownNow();
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %10.1f%n", mode, result.throughput(),
+                result.percentile(50), result.percentile(99), result.percentile(100));
+        }
+    }
+
+    private static Result run(ExecutorService executor, int delayMs, int concurrency, int requests)
+            throws IOException, InterruptedException, ExecutionException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        byte[] body = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+        server.createContext("/post", exchange -> {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/post");
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        List<Future<?>> callers = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int c = 0; c < concurrency; c++) {
+                callers.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+            return new Result(latencies, System.nanoTime() - start);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private record Result(long[] latencies, long elapsedNanos) {
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}